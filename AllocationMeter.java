@@ -0,0 +1,47 @@
+// Import modules
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+// Reads the calling thread's allocation counter and the collectors' cumulative GC counts and
+// times. A run's cost is the difference of two readings taken around it. Allocation comes from
+// the HotSpot-specific com.sun.management.ThreadMXBean and is reported as -1 elsewhere.
+final class AllocationMeter {
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private AllocationMeter() {}
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) return null;
+        if (!threads.isThreadAllocatedMemoryEnabled()) threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    static boolean isAllocationSupported() {
+        return THREADS != null;
+    }
+
+    // Bytes allocated so far by the calling thread, or -1 if unsupported. Work handed to other
+    // threads (e.g. fork-join subtasks) is not included.
+    static long threadAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // Collections so far, summed over all collectors
+    static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : COLLECTORS) count += Math.max(0, gc.getCollectionCount());
+        return count;
+    }
+
+    // Accumulated collection time in ms, summed over all collectors
+    static long gcTimeMs() {
+        long ms = 0;
+        for (GarbageCollectorMXBean gc : COLLECTORS) ms += Math.max(0, gc.getCollectionTime());
+        return ms;
+    }
+}
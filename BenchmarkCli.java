@@ -0,0 +1,457 @@
+// Import modules
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+// Headless benchmark runner for machines without a display. It measures cells with the same
+// CellBenchmark, TrialEngine and scheduler as the table, and streams one line per cell as CSV
+// or JSON Lines. Nothing on this path touches AWT or Swing.
+//
+//   java BenchmarkCli --sizes 1000,100000 --algorithms mergeSort,radixSort \
+//        --distributions RANDOM,SORTED --keys int,object --trials 10 --threads 2 --format json --output out.jsonl
+//
+// With --baseline the results are tested against a stored run (see RegressionGate), and
+// --compare tests two stored runs without measuring anything.
+//
+// Exit status: 0 when every cell produced a result, 1 if any errored or timed out, 2 on bad
+// arguments, 3 if a cell regressed against the baseline.
+public class BenchmarkCli {
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java BenchmarkCli [options]",
+            "  --sizes SPEC           comma list or base:from-to range (default " + SizeLadder.DEFAULT_SPEC + ")",
+            "  --algorithms IDS       comma list of engine ids, or all (default all)",
+            "  --distributions NAMES  comma list of input distributions, or all (default RANDOM)",
+            "  --keys TYPES           comma list of int, long, double, object, or all (default int)",
+            "  --trials N             measured trials per cell (default 10)",
+            "  --threads N            cells run in parallel (default " + BenchmarkScheduler.defaultParallelism() + ")",
+            "  --isolated             run one cell at a time on a dedicated thread",
+            "  --seed N               input seed (default " + DatasetCache.DEFAULT_SEED + ")",
+            "  --timeout SEC          per-cell timeout, 0 for none (default " + CellRun.DEFAULT_TIMEOUT_SEC + ")",
+            "  --budget SEC           skip cells projected to take longer (default " + CellBenchmark.DEFAULT_BUDGET_MS / 1000 + ")",
+            "  --ops                  also count comparisons, swaps, reads and writes",
+            "  --history              also record results in the history store (-Dsorting.historyDir)",
+            "  --baseline RUN|latest  test the results against a stored run; report on stderr",
+            "  --compare BASE,CAND    only test stored run CAND against stored run BASE",
+            "  --format csv|json      output format (default csv)",
+            "  --output FILE          write to FILE instead of stdout");
+
+    static final String[] CSV_COLUMNS = {
+        "distribution", "keys", "size", "algorithm", "status", "mean_ms", "median_ms", "stddev_ms", "ci_low_ms",
+        "ci_high_ms", "trials", "warmup", "alloc_bytes_per_sort", "gc_count", "gc_pause_ms",
+        "comparisons", "swaps", "reads", "writes"
+    };
+
+    // Parsed command line
+    static final class Options {
+        SizeLadder sizes = SizeLadder.fromSystemProperties();
+        List<SortEngine> engines = SortEngineRegistry.getEngines();
+        List<InputDistribution> distributions = List.of(InputDistribution.RANDOM);
+        List<KeyType> keyTypes = List.of(KeyType.INT);
+        int trials = 10;
+        int threads = BenchmarkScheduler.defaultParallelism();
+        boolean isolated = false;
+        long seed = DatasetCache.DEFAULT_SEED;
+        long timeoutSec = CellRun.DEFAULT_TIMEOUT_SEC;
+        long budgetMs = CellBenchmark.DEFAULT_BUDGET_MS;
+        boolean countOperations = false;
+        boolean history = false;
+        String baseline = null;
+        long[] compare = null;
+        boolean json = false;
+        String output = null;
+    }
+
+    private final Options options;
+    private final PrintStream out;
+    private final CellBenchmark cells;
+    private final HistoryStore history;
+    private long historyRunId = -1;
+    // This run's measured cells, kept for the baseline test
+    private final List<HistoryStore.Entry> measured = new ArrayList<>();
+    private volatile boolean failed = false;
+    private boolean regressed = false;
+
+    BenchmarkCli(Options options, PrintStream out) {
+        this.options = options;
+        this.out = out;
+        int minTrials = Math.min(3, options.trials);
+        this.cells = new CellBenchmark(new TrialEngine(5, 60, 500_000_000L, options.trials, minTrials,
+                1_000_000_000L, 0.05), options.seed);
+        this.history = options.history || options.baseline != null || options.compare != null
+                ? HistoryStore.openDefault() : null;
+    }
+
+    public static void main(String[] args) {
+        Options options;
+        try {
+            options = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options == null) { // --help
+            System.out.println(USAGE);
+            return;
+        }
+
+        if (options.compare != null) {
+            System.exit(compareStored(options.compare[0], options.compare[1]));
+            return;
+        }
+
+        PrintStream out = System.out;
+        try {
+            if (options.output != null) {
+                out = new PrintStream(new FileOutputStream(options.output), false, StandardCharsets.UTF_8);
+            }
+        } catch (FileNotFoundException e) {
+            System.err.println("Error: cannot write " + options.output + ": " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        BenchmarkCli cli = new BenchmarkCli(options, out);
+        boolean ok;
+        try {
+            ok = cli.run();
+        } catch (InterruptedException e) {
+            ok = false;
+        }
+        out.flush();
+        if (out != System.out) out.close();
+        System.exit(cli.regressed ? 3 : ok ? 0 : 1);
+    }
+
+    // --compare: tests one stored run against another and prints the report
+    private static int compareStored(long baseRunId, long candidateRunId) {
+        HistoryStore store = HistoryStore.openDefault();
+        if (store == null) {
+            System.err.println("Error: history is switched off (-Dsorting.historyDir is empty)");
+            return 2;
+        }
+        try {
+            List<HistoryStore.Entry> base = store.loadRun(baseRunId);
+            List<HistoryStore.Entry> candidate = store.loadRun(candidateRunId);
+            if (base.isEmpty() || candidate.isEmpty()) {
+                System.err.println("Error: run " + (base.isEmpty() ? baseRunId : candidateRunId)
+                        + " is not in " + store.getDir());
+                return 2;
+            }
+            RegressionGate gate = new RegressionGate(base);
+            List<RegressionGate.Verdict> verdicts = gate.compare(candidate);
+            System.out.print("Run " + candidateRunId + " against baseline run " + baseRunId + System.lineSeparator()
+                    + RegressionGate.environmentNote(store, base, candidate.get(0).environmentId)
+                    + gate.report(verdicts));
+            return RegressionGate.anyRegressed(verdicts) ? 3 : 0;
+        } catch (IOException e) {
+            System.err.println("Error: cannot read history in " + store.getDir() + ": " + e.getMessage());
+            return 1;
+        }
+    }
+
+    // Parses --name value / --name=value options; null for --help
+    static Options parse(String[] args) {
+        Options o = new Options();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i], value = null;
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 0) {
+                value = arg.substring(eq + 1);
+                arg = arg.substring(0, eq);
+            }
+            switch (arg) {
+                case "--help": case "-h": return null;
+                case "--isolated": o.isolated = true; continue;
+                case "--ops": o.countOperations = true; continue;
+                case "--history": o.history = true; continue;
+                default: break;
+            }
+            if (value == null) {
+                if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + arg);
+                value = args[++i];
+            }
+            switch (arg) {
+                case "--sizes": o.sizes = SizeLadder.parse(value); break;
+                case "--algorithms": o.engines = parseEngines(value); break;
+                case "--distributions": o.distributions = parseDistributions(value); break;
+                case "--keys": o.keyTypes = parseKeyTypes(value); break;
+                case "--trials": o.trials = positive(arg, value); break;
+                case "--threads": o.threads = positive(arg, value); break;
+                case "--seed": o.seed = Long.parseLong(value); break;
+                case "--timeout": o.timeoutSec = Long.parseLong(value); break;
+                case "--budget": o.budgetMs = Long.parseLong(value) * 1000; break;
+                case "--format":
+                    if (!value.equalsIgnoreCase("csv") && !value.equalsIgnoreCase("json")) {
+                        throw new IllegalArgumentException("Unknown format " + value);
+                    }
+                    o.json = value.equalsIgnoreCase("json");
+                    break;
+                case "--output": o.output = value; break;
+                case "--baseline":
+                    if (!value.equalsIgnoreCase("latest")) Long.parseLong(value);
+                    o.baseline = value;
+                    break;
+                case "--compare":
+                    String[] ids = value.split(",");
+                    if (ids.length != 2) throw new IllegalArgumentException("--compare needs BASE,CANDIDATE");
+                    o.compare = new long[]{Long.parseLong(ids[0].trim()), Long.parseLong(ids[1].trim())};
+                    break;
+                default: throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        return o;
+    }
+
+    private static int positive(String option, String value) {
+        int n = Integer.parseInt(value);
+        if (n < 1) throw new IllegalArgumentException(option + " must be at least 1");
+        return n;
+    }
+
+    private static List<SortEngine> parseEngines(String list) {
+        if (list.equalsIgnoreCase("all")) return SortEngineRegistry.getEngines();
+        List<SortEngine> engines = new ArrayList<>();
+        for (String id : list.split(",")) {
+            SortEngine engine = SortEngineRegistry.find(id.trim());
+            if (engine == null) throw new IllegalArgumentException("Unknown algorithm " + id.trim());
+            engines.add(engine);
+        }
+        return engines;
+    }
+
+    private static List<InputDistribution> parseDistributions(String list) {
+        if (list.equalsIgnoreCase("all")) return List.of(InputDistribution.values());
+        List<InputDistribution> distributions = new ArrayList<>();
+        for (String name : list.split(",")) {
+            try {
+                distributions.add(InputDistribution.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown distribution " + name.trim());
+            }
+        }
+        return distributions;
+    }
+
+    private static List<KeyType> parseKeyTypes(String list) {
+        if (list.equalsIgnoreCase("all")) return List.of(KeyType.values());
+        List<KeyType> keyTypes = new ArrayList<>();
+        for (String name : list.split(",")) {
+            try {
+                keyTypes.add(KeyType.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown key type " + name.trim());
+            }
+        }
+        return keyTypes;
+    }
+
+    // Runs every (distribution, key type, algorithm) triple as one chain of ascending sizes, as the table
+    // does per column; returns false if any cell errored or timed out
+    boolean run() throws InterruptedException {
+        if ((options.history || options.baseline != null) && history == null) {
+            System.err.println("History is switched off (-Dsorting.historyDir is empty)");
+            return false;
+        }
+        List<HistoryStore.Entry> baseline = null;
+        long baselineRunId = -1;
+        if (options.baseline != null) {
+            try {
+                baselineRunId = resolveBaseline(options.baseline);
+                baseline = baselineRunId >= 0 ? history.loadRun(baselineRunId) : new ArrayList<>();
+            } catch (IOException e) {
+                System.err.println("Error: cannot read history in " + history.getDir() + ": " + e.getMessage());
+                return false;
+            }
+            if (baseline.isEmpty()) {
+                System.err.println("Error: no baseline run " + options.baseline + " in " + history.getDir());
+                return false;
+            }
+        }
+        if (options.history) {
+            try {
+                historyRunId = history.newRunId();
+                System.err.println("Recording history run " + historyRunId + " in " + history.getDir());
+            } catch (IOException e) {
+                System.err.println("Error: cannot read history in " + history.getDir() + ": " + e.getMessage());
+                return false;
+            }
+        }
+        if (!options.json) out.println(String.join(",", CSV_COLUMNS));
+        BenchmarkScheduler scheduler = new BenchmarkScheduler(
+                options.isolated ? BenchmarkScheduler.Mode.ISOLATED : BenchmarkScheduler.Mode.SHARED,
+                options.threads, Integer.getInteger("sorting.isolatedCpu", -1));
+        CountDownLatch done = new CountDownLatch(
+                options.distributions.size() * options.keyTypes.size() * options.engines.size());
+        for (InputDistribution dist : options.distributions) {
+            for (KeyType keys : options.keyTypes) {
+                for (SortEngine engine : options.engines) {
+                    scheduler.submit((mode, detail) -> {
+                        try {
+                            runChain(dist, keys, engine);
+                        } finally {
+                            done.countDown();
+                        }
+                    });
+                }
+            }
+        }
+        done.await();
+        scheduler.shutdown();
+
+        if (baseline != null) {
+            RegressionGate gate = new RegressionGate(baseline);
+            List<RegressionGate.Verdict> verdicts;
+            synchronized (measured) {
+                verdicts = gate.compare(measured);
+            }
+            regressed = RegressionGate.anyRegressed(verdicts);
+            System.err.print("Against baseline run " + baselineRunId + System.lineSeparator()
+                    + RegressionGate.environmentNote(history, baseline, EnvironmentFingerprint.current().getId())
+                    + gate.report(verdicts));
+        }
+        return !failed;
+    }
+
+    // A run id, or "latest" for the newest stored run that is not this one; -1 if there is none
+    private long resolveBaseline(String spec) throws IOException {
+        if (!spec.equalsIgnoreCase("latest")) return Long.parseLong(spec);
+        long[] ids = history.runIds();
+        for (int i = ids.length - 1; i >= 0; i--) {
+            if (ids[i] != historyRunId) return ids[i];
+        }
+        return -1;
+    }
+
+    // Sizes in ascending order; once a size is stopped or projected past the budget, the larger
+    // ones are reported as skipped. Engines without a variant for the keys report every size as
+    // unsupported, which is not a failure.
+    private void runChain(InputDistribution dist, KeyType keys, SortEngine engine) {
+        SizeLadder sizes = options.sizes;
+        TrialStats hi = null, lo = null;
+        int hiSize = 0, loSize = 0;
+        boolean skipRest = false;
+        for (int i = 0; i < sizes.length(); i++) {
+            int size = sizes.get(i);
+            if (!skipRest && hi != null) {
+                ProjectedTime projection = ProjectedTime.extrapolate(hiSize, hi.getMean(), lo != null ? loSize : 0,
+                        lo != null ? lo.getMean() : 0, size, engine.isQuadratic() ? 2.0 : 1.0);
+                if (cells.getTrialEngine().estimateCellMs(projection.getMs()) > options.budgetMs) skipRest = true;
+            }
+            if (!keys.supports(engine)) {
+                emit(dist, keys, size, engine, "unsupported", null, null);
+                continue;
+            }
+            if (skipRest) {
+                emit(dist, keys, size, engine, "skipped", null, null);
+                continue;
+            }
+
+            CellRun run = new CellRun();
+            run.begin(options.timeoutSec * 1000);
+            CellBenchmark.Result result = cells.run(dist, size, keys, engine, options.countOperations);
+            boolean timedOut = run.getStop() != null;
+            run.end();
+
+            if (timedOut) {
+                emit(dist, keys, size, engine, "timeout", null, null);
+                failed = true;
+                skipRest = true;
+            } else if (result.stats != null) {
+                emit(dist, keys, size, engine, "ok", result.stats, result.counts);
+                record(dist, keys, size, engine, result.stats);
+                lo = hi;
+                loSize = hiSize;
+                hi = result.stats;
+                hiSize = size;
+            } else {
+                emit(dist, keys, size, engine, "error", null, null);
+                failed = true;
+            }
+        }
+    }
+
+    // A result that cannot be recorded fails the run, as its history would be incomplete
+    private void record(InputDistribution dist, KeyType keys, int size, SortEngine engine, TrialStats stats) {
+        String algorithm = keys.historyId(engine.getId());
+        synchronized (measured) {
+            measured.add(new HistoryStore.Entry(historyRunId, EnvironmentFingerprint.current().getId(), dist,
+                    algorithm, size, stats.getSamples()));
+        }
+        if (!options.history) return;
+        try {
+            history.record(historyRunId, dist, algorithm, size, stats);
+        } catch (IOException e) {
+            System.err.println("Error: cannot record history in " + history.getDir() + ": " + e.getMessage());
+            failed = true;
+        }
+    }
+
+    // One output line; lines from parallel chains never interleave
+    private synchronized void emit(InputDistribution dist, KeyType keys, int size, SortEngine engine, String status,
+                                   TrialStats stats, OpCounts counts) {
+        RunResources resources = stats != null ? stats.getResources() : null;
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("distribution", dist.name());
+        record.put("keys", keys.name().toLowerCase(Locale.ROOT));
+        record.put("size", size);
+        record.put("algorithm", engine.getId());
+        record.put("status", status);
+        record.put("mean_ms", stats != null ? stats.getMean() : null);
+        record.put("median_ms", stats != null ? stats.getMedian() : null);
+        record.put("stddev_ms", stats != null ? stats.getStddev() : null);
+        record.put("ci_low_ms", stats != null ? stats.getCiLow() : null);
+        record.put("ci_high_ms", stats != null ? stats.getCiHigh() : null);
+        record.put("trials", stats != null ? stats.getSampleCount() : null);
+        record.put("warmup", stats != null ? stats.getWarmupIterations() : null);
+        record.put("alloc_bytes_per_sort", resources != null ? resources.getAllocatedBytesPerSort() : null);
+        record.put("gc_count", resources != null ? resources.getGcCount() : null);
+        record.put("gc_pause_ms", resources != null ? resources.getGcPauseMs() : null);
+        record.put("comparisons", counts != null ? counts.comparisons : null);
+        record.put("swaps", counts != null ? counts.swaps : null);
+        record.put("reads", counts != null ? counts.reads : null);
+        record.put("writes", counts != null ? counts.writes : null);
+        out.println(options.json ? toJson(record) : toCsv(record));
+        out.flush();
+    }
+
+    private static String toCsv(Map<String, Object> record) {
+        StringBuilder sb = new StringBuilder();
+        for (Object value : record.values()) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(format(value, ""));
+        }
+        return sb.toString();
+    }
+
+    // Keys and strings here never need escaping: ids, enum names and fixed status words
+    private static String toJson(Map<String, Object> record) {
+        StringBuilder sb = new StringBuilder("{");
+        for (Map.Entry<String, Object> entry : record.entrySet()) {
+            if (sb.length() > 1) sb.append(',');
+            sb.append('"').append(entry.getKey()).append("\":");
+            Object value = entry.getValue();
+            sb.append(value instanceof String ? "\"" + value + "\"" : format(value, "null"));
+        }
+        return sb.append('}').toString();
+    }
+
+    // Numbers in a locale-independent form; missing and non-finite values as `missing`
+    private static String format(Object value, String missing) {
+        if (value == null) return missing;
+        if (value instanceof Double) {
+            double d = (Double) value;
+            return Double.isFinite(d) ? String.format(Locale.ROOT, "%.6f", d) : missing;
+        }
+        return value.toString();
+    }
+}
@@ -1,42 +1,65 @@
 // Import modules
 import java.awt.*;
+import java.awt.geom.Path2D;
 import java.awt.geom.RoundRectangle2D;
+import java.io.IOException;
 import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.TableModelListener;
 
 class BenchmarkGraphPanel extends JPanel {
-    // Raw benchmark data: rows correspond to array sizes, columns to algorithms
-    private final Object[][] data;
+    // Benchmark results; rows correspond to array sizes, columns to algorithms, for the
+    // distribution the model currently shows
+    private final SortingTableModel model;
     
-    // Names of sorting algorithms displayed
-    private final String[] algorithms = {"Bubble Sort", "Selection Sort", "Insertion Sort", "Merge Sort", "Heap Sort"};
+    // Names and bar colors of the sorting algorithms displayed, one per registry engine
+    private final String[] algorithms;
+    private final Color[] colors;
+
+    // Indices into algorithms for the parallel-vs-sequential merge speedup label (-1 if absent)
+    private final int mergeIndex = SortEngineRegistry.indexOf("mergeSort");
+    private final int parallelMergeIndex = SortEngineRegistry.indexOf("parallelMergeSort");
 
     // Define custom colors and fonts for the graph display
-    private final Color[] colors = {
-        new Color(0, 0, 128),      // Navy color for Bubble Sort
-        new Color(220, 20, 60),    // Red color for Selection Sort
-        new Color(30, 144, 255),   // Blue color for Insertion Sort
-        new Color(0, 168, 107),    // Jade Green color for Merge Sort
-        new Color(255, 140, 0)     // Orange color for Heap Sort
-    };
     private final Color backgroundColor = new Color(250, 252, 255); // Light background color
     private final Color gridColor = new Color(220, 235, 250);       // Soft blue grid lines
     private final Color textColor = new Color(44, 62, 80);          // Dark text color for readability
+    private final Color regressionColor = new Color(200, 0, 0);     // Bars slower than the baseline
     private final Font titleFont = new Font("Segoe UI", Font.BOLD, 22);       // Font for graph title
     private final Font axisLabelFont = new Font("Segoe UI", Font.BOLD, 14);   // Font for axis labels
     private final Font labelFont = new Font("Segoe UI", Font.PLAIN, 13);      // Font for smaller labels
     private final DecimalFormat df = new DecimalFormat("#,##0.0");             // Decimal format for time labels
 
-    // Currently selected array size index (0 = 100 elements, etc.)
+    // Currently selected row of the model's size ladder (0 = smallest size)
     private int selectedSizeIndex = 0;
-    
-    // Array sizes corresponding to benchmark data rows
-    private final int[] arraySizes = {100, 1000, 10000, 100000};
+    // Plotted quantity: -1 for execution time, an OpCounts metric per n log n, or ALLOCATION
+    private int metric = -1;
+    private static final int ALLOCATION = OpCounts.METRIC_NAMES.length;
+    // Overlays the mean times of earlier launches on the bars, -Dsorting.historyRuns past runs at most
+    private boolean showHistory = false;
+    private static final int HISTORY_RUNS = Integer.getInteger("sorting.historyRuns", 8);
+    // Past entries of the plotted distribution and size, loaded once per selection; null until needed
+    private List<HistoryStore.Entry> historyEntries;
+    private String historyKey;
+    private String historyError;
     private JPanel controlPanel; // Panel containing UI controls like size selector
 
-    public BenchmarkGraphPanel(Object[][] benchmarkData) {
-        this.data = benchmarkData;
+    public BenchmarkGraphPanel(SortingTableModel model) {
+        this.model = model;
+
+        // Bars come from the same engine registry as the table columns
+        List<SortEngine> engines = SortEngineRegistry.getEngines();
+        algorithms = new String[engines.size()];
+        colors = new Color[engines.size()];
+        for (int i = 0; i < engines.size(); i++) {
+            algorithms[i] = engines.get(i).getName();
+            colors[i] = new Color(engines.get(i).getColorRgb());
+        }
         setLayout(new BorderLayout());
         setBackground(backgroundColor);
 
@@ -66,22 +89,90 @@ class BenchmarkGraphPanel extends JPanel {
         sizeLabel.setFont(labelFont);
         controlPanel.add(sizeLabel);
 
-        // Options for array sizes with formatted strings
-        String[] sizeOptions = {"100 elements", "1,000 elements", "10,000 elements", "100,000 elements"};
-        JComboBox<String> sizeSelector = new JComboBox<>(sizeOptions);
+        // Options for array sizes, one per row of the table's size ladder
+        JComboBox<String> sizeSelector = new JComboBox<>(model.getSizeLadder().labels());
         sizeSelector.setFont(labelFont);
-        sizeSelector.setPreferredSize(new Dimension(150, 28));
+        sizeSelector.setPreferredSize(new Dimension(170, 28));
         sizeSelector.addActionListener(e -> {
             selectedSizeIndex = sizeSelector.getSelectedIndex();
             repaint(); // Redraw graph with new data
         });
 
         controlPanel.add(sizeSelector);
+
+        JLabel distributionLabel = new JLabel("   Input: ");
+        distributionLabel.setFont(labelFont);
+        controlPanel.add(distributionLabel);
+
+        // Shares the model's distribution with the table, so switching here switches both
+        JComboBox<InputDistribution> distributionSelector = new JComboBox<>(InputDistribution.values());
+        distributionSelector.setFont(labelFont);
+        distributionSelector.setSelectedItem(model.getDistribution());
+        distributionSelector.addActionListener(e ->
+                model.setDistribution((InputDistribution) distributionSelector.getSelectedItem()));
+        controlPanel.add(distributionSelector);
+
+        JLabel keyTypeLabel = new JLabel("   Keys: ");
+        keyTypeLabel.setFont(labelFont);
+        controlPanel.add(keyTypeLabel);
+
+        // Shares the model's key type with the table as well
+        JComboBox<KeyType> keyTypeSelector = new JComboBox<>(KeyType.values());
+        keyTypeSelector.setFont(labelFont);
+        keyTypeSelector.setSelectedItem(model.getKeyType());
+        keyTypeSelector.addActionListener(e -> model.setKeyType((KeyType) keyTypeSelector.getSelectedItem()));
+        controlPanel.add(keyTypeSelector);
+
+        JLabel metricLabel = new JLabel("   Show: ");
+        metricLabel.setFont(labelFont);
+        controlPanel.add(metricLabel);
+
+        // Execution time, one of the operation counts normalised by n log n, or allocation
+        String[] metricOptions = new String[OpCounts.METRIC_NAMES.length + 2];
+        metricOptions[0] = "Time (ms)";
+        for (int i = 0; i < OpCounts.METRIC_NAMES.length; i++) metricOptions[i + 1] = OpCounts.METRIC_NAMES[i] + " / n log n";
+        metricOptions[ALLOCATION + 1] = "Allocated bytes / element";
+        JComboBox<String> metricSelector = new JComboBox<>(metricOptions);
+        metricSelector.setFont(labelFont);
+        metricSelector.addActionListener(e -> {
+            metric = metricSelector.getSelectedIndex() - 1;
+            model.setGraphOpCounts(metric >= 0 && metric != ALLOCATION);
+            repaint();
+        });
+        controlPanel.add(metricSelector);
+
+        // Past launches of this distribution and size, from the model's history store
+        JCheckBox historyBox = new JCheckBox("History");
+        historyBox.setFont(labelFont);
+        historyBox.setBackground(backgroundColor);
+        historyBox.setEnabled(model.getHistory() != null);
+        historyBox.setToolTipText(model.getHistory() != null
+                ? "Overlay earlier runs kept in " + model.getHistory().getDir()
+                : "History is switched off (-Dsorting.historyDir)");
+        historyBox.addActionListener(e -> {
+            showHistory = historyBox.isSelected();
+            historyKey = null; // Pick up runs recorded since the last load
+            repaint();
+        });
+        controlPanel.add(historyBox);
+
+        // Repaint as results arrive and follow distribution and key type changes made elsewhere
+        TableModelListener listener = e -> {
+            if (distributionSelector.getSelectedItem() != model.getDistribution()) {
+                distributionSelector.setSelectedItem(model.getDistribution());
+            }
+            if (keyTypeSelector.getSelectedItem() != model.getKeyType()) {
+                keyTypeSelector.setSelectedItem(model.getKeyType());
+            }
+            repaint();
+        };
+        model.addTableModelListener(listener);
     }
 
     // Method to draw graph visualization
     private void drawGraph(Graphics2D g2) {
-        if (data == null) return; // No data to display
+        // One consistent view of the results for the whole repaint
+        ResultMatrix.Snapshot results = model.getResults();
 
         setRenderingHints(g2); // Enable anti-aliasing and high quality rendering
 
@@ -93,7 +184,7 @@ class BenchmarkGraphPanel extends JPanel {
         int gap = 25;
         
         // Calculate horizontal offset to center bars in available space
-        int xOffset = padding + (width - 2 * padding - 5 * (barWidth + gap)) / 2;
+        int xOffset = padding + (width - 2 * padding - algorithms.length * (barWidth + gap)) / 2;
         int yBase = height - padding;
         int cornerRadius = 12;
 
@@ -102,10 +193,11 @@ class BenchmarkGraphPanel extends JPanel {
         int yAxisTitleTopPadding = 40, yAxisTitleBottomPadding = 20;
         int graphTopPadding = titleTopPadding + titleBottomPadding + yAxisTitleBottomPadding;
 
-        int arraySize = arraySizes[selectedSizeIndex];
+        int arraySize = model.getSizeLadder().get(selectedSizeIndex);
 
         // Calculate minimum and maximum time values for logarithmic scaling
-        double[] scale = calculateScale(selectedSizeIndex);
+        List<HistoryStore.Entry> past = metric < 0 && showHistory ? loadHistory(arraySize) : null;
+        double[] scale = calculateScale(results, selectedSizeIndex, past);
         double minTime = scale[0], maxTime = scale[1];
 
         // Fill background of graph area
@@ -121,11 +213,33 @@ class BenchmarkGraphPanel extends JPanel {
         // Draw minor grid lines between major lines for finer scale reference
         drawMinorGridLines(g2, width, padding, yBase, graphTopPadding, minTime, maxTime);
 
+        // Counts and allocation have no spread, projection or speedup to show, just one bar per engine
+        if (metric >= 0) {
+            for (int col = 0; col < algorithms.length; col++) {
+                double value = metricValue(results, col);
+                if (Double.isNaN(value)) continue; // Not measured yet
+                if (value <= 0 && metric != ALLOCATION) continue; // e.g. radix sort comparisons
+                int barX = xOffset + col * (barWidth + gap);
+                int barY = logScaleY(value, minTime, maxTime, yBase, graphTopPadding);
+                drawBar(g2, barX, barY, barWidth, Math.max(yBase - barY, 3), colors[col], value, yBase, algorithms[col], false);
+            }
+            return;
+        }
+
         // Draw bars for each algorithm's execution time
         for (int col = 0; col < algorithms.length; col++) {
-            if (!(data[selectedSizeIndex][col + 1] instanceof Double)) continue; // Skip invalid data
+            if (results.isProjected(selectedSizeIndex, col + 1)) {
+                // Predicted but not run: a faded bar with the estimate
+                double projected = results.mean(selectedSizeIndex, col + 1);
+                int barX = xOffset + col * (barWidth + gap);
+                int barY = logScaleY(projected, minTime, maxTime, yBase, graphTopPadding);
+                Color faded = new Color(colors[col].getRed(), colors[col].getGreen(), colors[col].getBlue(), 70);
+                drawBar(g2, barX, barY, barWidth, Math.max(yBase - barY, 3), faded, projected, yBase, algorithms[col], true);
+                continue;
+            }
+            if (!results.isMeasured(selectedSizeIndex, col + 1)) continue; // Skip cells without a time
 
-            double time = (Double) data[selectedSizeIndex][col + 1];
+            double time = results.mean(selectedSizeIndex, col + 1);
             if (time <= 0) continue; // Skip zero or negative times
 
             // Calculate bar X position based on index and spacing
@@ -138,8 +252,157 @@ class BenchmarkGraphPanel extends JPanel {
             int barHeight = Math.max(yBase - barY, 3);
 
             // Draw the individual bar with shadow, color, outline, and labels
-            drawBar(g2, barX, barY, barWidth, barHeight, colors[col], time, yBase, algorithms[col]);
+            drawBar(g2, barX, barY, barWidth, barHeight, colors[col], time, yBase, algorithms[col], false);
+
+            // Overlay the 95% confidence interval of the mean
+            drawConfidenceInterval(g2, barX + barWidth / 2, results.ciLow(selectedSizeIndex, col + 1),
+                    results.ciHigh(selectedSizeIndex, col + 1), minTime, maxTime, yBase, graphTopPadding);
+
+            // Outline bars that are significantly slower than the baseline run
+            RegressionGate.Verdict verdict = model.getVerdict(selectedSizeIndex, col + 1);
+            if (verdict != null && verdict.outcome == RegressionGate.Outcome.REGRESSED) {
+                drawRegression(g2, barX, barY, barWidth, barHeight, verdict.shift);
+            }
+
+            // Show how much faster the fork-join merge sort is than the sequential one
+            if (col == parallelMergeIndex && mergeIndex >= 0 && results.isMeasured(selectedSizeIndex, mergeIndex + 1)) {
+                double sequential = results.mean(selectedSizeIndex, mergeIndex + 1);
+                drawSpeedup(g2, barX + barWidth / 2, yBase, sequential / time);
+            }
+        }
+
+        if (past != null) drawHistory(g2, past, xOffset, barWidth, gap, minTime, maxTime, yBase, graphTopPadding,
+                titleTopPadding + yAxisTitleTopPadding);
+    }
+
+    // Past entries of the plotted distribution and key type at `size`, read from the store when the
+    // selection changes; the current launch's own run and engines no longer registered are left out
+    private List<HistoryStore.Entry> loadHistory(int size) {
+        KeyType keys = model.getKeyType();
+        String key = model.getDistribution() + "/" + keys + "/" + size;
+        if (key.equals(historyKey)) return historyEntries;
+        historyKey = key;
+        historyError = null;
+        try {
+            historyEntries = new ArrayList<>();
+            for (HistoryStore.Entry entry : model.getHistory().loadLatest(model.getDistribution(), size,
+                    HISTORY_RUNS, model.getHistoryRunId())) {
+                String engineId = keys.engineIdOf(entry.algorithm);
+                if (engineId != null && SortEngineRegistry.indexOf(engineId) >= 0) historyEntries.add(entry);
+            }
+        } catch (IOException e) {
+            historyEntries = new ArrayList<>();
+            historyError = e.getMessage();
+        }
+        return historyEntries;
+    }
+
+    // One diamond per past run on each algorithm's bar, oldest on the left, at that run's mean.
+    // Filled diamonds were measured in this environment, hollow ones elsewhere; a legend under
+    // the title says what changed since the latest run from another environment.
+    private void drawHistory(Graphics2D g2, List<HistoryStore.Entry> past, int xOffset, int barWidth, int gap,
+                             double min, double max, int yBase, int top, int legendY) {
+        EnvironmentFingerprint here = EnvironmentFingerprint.current();
+        List<Long> runIds = new ArrayList<>();
+        HistoryStore.Entry otherEnvironment = null;
+        for (HistoryStore.Entry entry : past) {
+            if (!runIds.contains(entry.runId)) runIds.add(entry.runId);
+            if (!entry.environmentId.equals(here.getId())) otherEnvironment = entry;
+        }
+
+        g2.setStroke(new BasicStroke(1.2f));
+        for (HistoryStore.Entry entry : past) {
+            int col = SortEngineRegistry.indexOf(model.getKeyType().engineIdOf(entry.algorithm));
+            int slot = runIds.indexOf(entry.runId);
+            int x = xOffset + col * (barWidth + gap) + (2 * slot + 1) * barWidth / (2 * runIds.size());
+            int y = logScaleY(TrialStats.mean(entry.samples), min, max, yBase, top);
+            Path2D diamond = new Path2D.Float();
+            diamond.moveTo(x, y - 5);
+            diamond.lineTo(x + 5, y);
+            diamond.lineTo(x, y + 5);
+            diamond.lineTo(x - 5, y);
+            diamond.closePath();
+            boolean sameEnvironment = entry.environmentId.equals(here.getId());
+            g2.setColor(sameEnvironment ? textColor : Color.WHITE);
+            g2.fill(diamond);
+            g2.setColor(textColor);
+            g2.draw(diamond);
+        }
+
+        String legend;
+        if (historyError != null) {
+            legend = "History could not be read: " + historyError;
+        } else if (runIds.isEmpty()) {
+            legend = "History: no earlier runs of this size";
+        } else {
+            legend = "History: " + runIds.size() + " earlier run" + (runIds.size() == 1 ? "" : "s") + ", latest "
+                    + new SimpleDateFormat("yyyy-MM-dd HH:mm").format(new Date(runIds.get(runIds.size() - 1)));
+            if (otherEnvironment != null) {
+                EnvironmentFingerprint there = environmentOf(otherEnvironment);
+                String changes = there != null ? here.differencesFrom(there) : "";
+                if (changes.length() > 90) changes = changes.substring(0, 87) + "...";
+                legend += "; hollow = other environment" + (changes.isEmpty() ? "" : " (" + changes + ")");
+            }
+        }
+        g2.setFont(labelFont);
+        g2.setColor(textColor);
+        int legendWidth = g2.getFontMetrics().stringWidth(legend);
+        g2.drawString(legend, Math.max(20, getWidth() - legendWidth - 20), legendY);
+    }
+
+    private EnvironmentFingerprint environmentOf(HistoryStore.Entry entry) {
+        try {
+            return model.getHistory().environment(entry.environmentId);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Selected metric for an algorithm at the selected size: a count per n log n or allocated
+    // bytes per element (0 for in-place sorts, drawn as a stub bar); NaN if not measured
+    private double metricValue(ResultMatrix.Snapshot results, int col) {
+        if (metric == ALLOCATION) {
+            TrialStats stats = results.stats(selectedSizeIndex, col + 1);
+            RunResources resources = stats != null ? stats.getResources() : null;
+            return resources == null ? Double.NaN : resources.getBytesPerElement();
         }
+        OpCounts counts = model.getOpCounts(model.getDistribution(), selectedSizeIndex, col + 1);
+        return counts == null ? Double.NaN : counts.perNLogN(metric);
+    }
+
+    // Red outline around a regressed bar, with the slowdown above it
+    private void drawRegression(Graphics2D g2, int x, int y, int width, int height, double shift) {
+        g2.setColor(regressionColor);
+        g2.setStroke(new BasicStroke(3f));
+        g2.draw(new RoundRectangle2D.Float(x - 2, y - 2, width + 4, height + 4, 14, 14));
+        g2.setFont(new Font("Segoe UI", Font.BOLD, 12));
+        String text = String.format("+%.1f%%", 100 * shift);
+        int textWidth = g2.getFontMetrics().stringWidth(text);
+        g2.drawString(text, x + (width - textWidth) / 2, height > 40 ? y - 8 : y - 28);
+    }
+
+    // Draw the speedup factor under a bar's name
+    private void drawSpeedup(Graphics2D g2, int centerX, int yBase, double speedup) {
+        String text = String.format("%.2f\u00d7 vs Merge", speedup);
+        g2.setFont(new Font("Segoe UI", Font.BOLD, 12));
+        g2.setColor(speedup >= 1 ? new Color(0, 128, 0) : new Color(200, 0, 0));
+        int textWidth = g2.getFontMetrics().stringWidth(text);
+        g2.drawString(text, centerX - textWidth / 2, yBase + 36);
+    }
+
+    // Draw an error bar spanning the confidence interval, clipped to the plotted range
+    private void drawConfidenceInterval(Graphics2D g2, int centerX, double ciLow, double ciHigh,
+                                        double min, double max, int yBase, int top) {
+        if (!(ciHigh > ciLow)) return; // No spread, or no interval (NaN)
+        int yLow = logScaleY(Math.max(ciLow, min), min, max, yBase, top);
+        int yHigh = logScaleY(ciHigh, min, max, yBase, top);
+        int capHalf = 8;
+
+        g2.setColor(textColor);
+        g2.setStroke(new BasicStroke(1.5f));
+        g2.drawLine(centerX, yLow, centerX, yHigh);
+        g2.drawLine(centerX - capHalf, yHigh, centerX + capHalf, yHigh);
+        g2.drawLine(centerX - capHalf, yLow, centerX + capHalf, yLow);
     }
 
     // Enable high-quality rendering hints for smooth graphics and text
@@ -153,8 +416,9 @@ class BenchmarkGraphPanel extends JPanel {
     private void drawTitleAndLabels(Graphics2D g2, int width, int height, int arraySize, int titleTop, int yAxisTop) {
         
         // Format array size string with commas for readability
-        String sizeText = arraySize == 100000 ? "100,000" : arraySize == 10000 ? "10,000" : String.valueOf(arraySize);
-        String title = "Sorting Performance with " + sizeText + " Elements";
+        String sizeText = new DecimalFormat("#,##0").format(arraySize);
+        String title = "Sorting Performance with " + sizeText + " Elements ("
+                + model.getDistribution() + ", " + model.getKeyType() + ")";
 
         g2.setFont(titleFont);
         g2.setColor(textColor);
@@ -166,7 +430,9 @@ class BenchmarkGraphPanel extends JPanel {
         g2.setFont(axisLabelFont);
         
         // Draw Y-axis label near top left
-        g2.drawString("Execution Time (ms) - Log Scale", 20, titleTop + yAxisTop);
+        String yAxisTitle = metric < 0 ? "Execution Time (ms)"
+                : metric == ALLOCATION ? "Allocated Bytes per Element" : OpCounts.METRIC_NAMES[metric] + " per n log n";
+        g2.drawString(yAxisTitle + " - Log Scale", 20, titleTop + yAxisTop);
         
         // Draw X-axis label centered near bottom of panel
         String xAxisTitle = "Type of Sorting Algorithm";
@@ -216,8 +482,10 @@ class BenchmarkGraphPanel extends JPanel {
         g2.drawLine(padding, yBase, width - padding, yBase);
     }
 
-    // Draw an individual bar representing a sorting algorithm's execution time
-    private void drawBar(Graphics2D g2, int x, int y, int width, int height, Color color, double time, int yBase, String algoName) {
+    // Draw an individual bar representing a sorting algorithm's execution time; projected
+    // bars are labelled with "~" and always use dark text, as their fill is faded
+    private void drawBar(Graphics2D g2, int x, int y, int width, int height, Color color, double time, int yBase,
+                         String algoName, boolean projected) {
         int cornerRadius = 12; // Rounded corners for bar and shadow
 
         // Draw subtle shadow offset by 3 pixels right and down
@@ -235,9 +503,9 @@ class BenchmarkGraphPanel extends JPanel {
         g2.draw(bar);
 
         // Draw execution time label on or above the bar
-        g2.setColor(height > 40 ? Color.WHITE : textColor); // White text if bar tall enough, else dark text
+        g2.setColor(height > 40 && !projected ? Color.WHITE : textColor); // White text if bar tall enough, else dark text
         g2.setFont(new Font("Segoe UI", Font.BOLD, 13));
-        String timeText = formatTimeValue(time);
+        String timeText = (projected ? "~" : "") + formatTimeValue(time);
         int textWidth = g2.getFontMetrics().stringWidth(timeText);
         
         // Position label inside bar if tall, otherwise above bar
@@ -253,16 +521,28 @@ class BenchmarkGraphPanel extends JPanel {
     }
 
     // Determine the minimum and maximum time values to set the logarithmic scale
-    private double[] calculateScale(int index) {
-        
+    private double[] calculateScale(ResultMatrix.Snapshot results, int index, List<HistoryStore.Entry> past) {
+
         // Start with a very small minimum time (10^-4) and default max time (1)
         double minPower = Math.floor(Math.log10(0.0001));
         double maxPower = Math.ceil(Math.log10(1.0));
 
         // Iterate over all algorithms for the selected array size to find max time
         for (int i = 1; i <= algorithms.length; i++) {
-            if (data[index][i] instanceof Double) {
-                double time = (Double) data[index][i];
+            double time = 0;
+            if (metric >= 0) {
+                time = metricValue(results, i - 1);
+                if (time > 0) maxPower = Math.max(maxPower, Math.ceil(Math.log10(time)));
+                continue;
+            }
+            if (results.isMeasured(index, i)) time = results.ciHigh(index, i);
+            if (results.isProjected(index, i)) time = results.mean(index, i);
+            if (time > 0) maxPower = Math.max(maxPower, Math.ceil(Math.log10(time)));
+        }
+        // Leave room for the history markers too
+        if (past != null) {
+            for (HistoryStore.Entry entry : past) {
+                double time = TrialStats.mean(entry.samples);
                 if (time > 0) maxPower = Math.max(maxPower, Math.ceil(Math.log10(time)));
             }
         }
@@ -275,6 +555,7 @@ class BenchmarkGraphPanel extends JPanel {
 
     // Format time values with varying decimal precision based on magnitude
     private String formatTimeValue(double value) {
+        if (value == 0) return "0";
         if (value < 0.001) return String.format("%.4f", value);
         if (value < 0.01) return String.format("%.3f", value);
         if (value < 0.1) return String.format("%.2f", value);
@@ -296,7 +577,8 @@ class BenchmarkGraphPanel extends JPanel {
 
     @Override
     public Dimension getPreferredSize() {
-        // Preferred size for the panel to ensure enough space for graph and labels
-        return new Dimension(1000, 600);
+        // Preferred size for the panel to ensure enough space for graph and labels;
+        // widen with the number of bars (60px bar + 25px gap each) so the scroll pane can scroll
+        return new Dimension(Math.max(1000, 2 * 80 + algorithms.length * 85), 600);
     }
 }
\ No newline at end of file
@@ -0,0 +1,145 @@
+// Import modules
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Runs benchmark cells either concurrently on a work-stealing pool or one at a time in isolation
+class BenchmarkScheduler {
+    // How a cell was executed, recorded alongside its result
+    enum Mode {
+        SHARED("Shared"),
+        ISOLATED("Isolated");
+
+        private final String name;
+
+        Mode(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    // Task body that learns which mode it actually ran in
+    interface CellTask {
+        void run(Mode mode, String detail);
+    }
+
+    private final Mode mode;
+    private final int parallelism;
+    private final int isolatedCpu;   // CPU to pin the isolated thread to, or -1 for no pinning
+
+    // FIFO work-stealing pool for shared cells (asyncMode keeps submission order)
+    private final ForkJoinPool sharedPool;
+    // Single dedicated thread for isolated cells
+    private final ExecutorService isolatedExecutor;
+    // Shared cells hold the read lock, an isolated cell holds the write lock so it runs alone.
+    // One lock serves every scheduler: switching modes replaces the scheduler, and the first
+    // isolated cell must still wait for the cells of the old one to unwind.
+    private static final ReentrantReadWriteLock QUIET_LOCK = new ReentrantReadWriteLock(true);
+    private volatile String isolatedDetail = "unpinned";
+
+    public BenchmarkScheduler(Mode mode, int parallelism, int isolatedCpu) {
+        this.mode = mode;
+        this.parallelism = Math.max(1, parallelism);
+        this.isolatedCpu = isolatedCpu;
+        this.sharedPool = new ForkJoinPool(this.parallelism,
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        this.isolatedExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(() -> {
+                if (this.isolatedCpu >= 0) isolatedDetail = pinCurrentThread(this.isolatedCpu);
+                r.run();
+            }, "benchmark-isolated");
+            thread.setPriority(Thread.MAX_PRIORITY);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Default: all cores but one (left for the EDT), shared mode
+    static int defaultParallelism() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    // Builds a scheduler from -Dsorting.threads, -Dsorting.isolated and -Dsorting.isolatedCpu
+    static BenchmarkScheduler fromSystemProperties() {
+        int threads = Integer.getInteger("sorting.threads", defaultParallelism());
+        boolean isolated = Boolean.getBoolean("sorting.isolated");
+        int cpu = Integer.getInteger("sorting.isolatedCpu", -1);
+        return new BenchmarkScheduler(isolated ? Mode.ISOLATED : Mode.SHARED, threads, cpu);
+    }
+
+    // Queues one cell according to the scheduler's mode
+    public void submit(CellTask task) {
+        submit(task, false);
+    }
+
+    // Queues one cell; with `alone` it takes the isolated path whatever the mode, e.g. a cell
+    // whose disk traffic and temp files must not overlap with other cells
+    public void submit(CellTask task, boolean alone) {
+        if (alone || mode == Mode.ISOLATED) {
+            isolatedExecutor.execute(() -> {
+                QUIET_LOCK.writeLock().lock();
+                try {
+                    task.run(Mode.ISOLATED, isolatedCpu >= 0 ? isolatedDetail : "unpinned");
+                } finally {
+                    QUIET_LOCK.writeLock().unlock();
+                }
+            });
+        } else {
+            String detail = parallelism + (parallelism == 1 ? " thread" : " threads");
+            sharedPool.execute(() -> {
+                QUIET_LOCK.readLock().lock();
+                try {
+                    task.run(Mode.SHARED, detail);
+                } finally {
+                    QUIET_LOCK.readLock().unlock();
+                }
+            });
+        }
+    }
+
+    public Mode getMode() { return mode; }
+    public int getParallelism() { return parallelism; }
+    public int getIsolatedCpu() { return isolatedCpu; }
+
+    // Drops queued cells and interrupts running ones, which unwind at their next cancellation
+    // check; an isolated cell of the next scheduler waits until they have
+    public void shutdown() {
+        sharedPool.shutdownNow();
+        isolatedExecutor.shutdownNow();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean shared = sharedPool.awaitTermination(timeout, unit);
+        long remaining = Math.max(0, deadline - System.nanoTime());
+        return isolatedExecutor.awaitTermination(remaining, TimeUnit.NANOSECONDS) && shared;
+    }
+
+    // Pins the calling thread with taskset on Linux; the JDK has no affinity API of its own
+    private static String pinCurrentThread(int cpu) {
+        try {
+            // /proc/thread-self resolves to /proc/<pid>/task/<tid> for the calling thread
+            Path self = Paths.get("/proc/thread-self").toRealPath();
+            String tid = self.getFileName().toString();
+            Process process = new ProcessBuilder("taskset", "-p", "-c", String.valueOf(cpu), tid)
+                    .redirectErrorStream(true)
+                    .start();
+            process.getInputStream().readAllBytes();
+            if (process.waitFor() == 0) return "CPU " + cpu;
+        } catch (IOException e) {
+            // Not Linux or taskset missing; run unpinned
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "unpinned";
+    }
+}
@@ -0,0 +1,78 @@
+// Import modules
+import java.util.Arrays;
+import java.util.List;
+
+// The engines that ship with the visualizer, in table column order. The plain sorts have a
+// variant for every key type, except radix sort for Comparator-ordered keys. The argsort and
+// payload columns, the boxed index sort they are measured against and the external merge sort
+// only sort int keys.
+public class BuiltinSortEngines implements SortEngineProvider {
+    @Override
+    public List<SortEngine> getEngines() {
+        return Arrays.asList(
+            SortEngine.of("bubbleSort", "Bubble Sort", 0x000080, true, SortAlgorithms::bubbleSort,
+                    null, CountingSortAlgorithms::bubbleSort)
+                    .withKeySorters(LongSortAlgorithms::bubbleSort, DoubleSortAlgorithms::bubbleSort,
+                            ObjectSortAlgorithms::bubbleSort),
+            SortEngine.of("selectionSort", "Selection Sort", 0xDC143C, true, SortAlgorithms::selectionSort,
+                    null, CountingSortAlgorithms::selectionSort)
+                    .withKeySorters(LongSortAlgorithms::selectionSort, DoubleSortAlgorithms::selectionSort,
+                            ObjectSortAlgorithms::selectionSort),
+            SortEngine.of("insertionSort", "Insertion Sort", 0x1E90FF, true, SortAlgorithms::insertionSort,
+                    null, CountingSortAlgorithms::insertionSort)
+                    .withKeySorters(LongSortAlgorithms::insertionSort, DoubleSortAlgorithms::insertionSort,
+                            ObjectSortAlgorithms::insertionSort),
+            SortEngine.of("mergeSort", "Merge Sort", 0x00A86B, false, SortAlgorithms::mergeSort,
+                    MappedSorts::mergeSort, CountingSortAlgorithms::mergeSort)
+                    .withKeySorters(LongSortAlgorithms::mergeSort, DoubleSortAlgorithms::mergeSort,
+                            ObjectSortAlgorithms::mergeSort),
+            SortEngine.of("heapSort", "Heap Sort", 0xFF8C00, false, SortAlgorithms::heapSort,
+                    MappedSorts::heapSort, CountingSortAlgorithms::heapSort)
+                    .withKeySorters(LongSortAlgorithms::heapSort, DoubleSortAlgorithms::heapSort,
+                            ObjectSortAlgorithms::heapSort),
+            SortEngine.of("parallelMergeSort", "Parallel Merge Sort", 0x800080, false, SortAlgorithms::parallelMergeSort,
+                    MappedSorts::parallelMergeSort, CountingSortAlgorithms::parallelMergeSort)
+                    .withKeySorters(LongSortAlgorithms::parallelMergeSort, DoubleSortAlgorithms::parallelMergeSort,
+                            ObjectSortAlgorithms::parallelMergeSort),
+            SortEngine.of("introSort", "Introsort", 0x8B4513, false, SortAlgorithms::introSort,
+                    null, CountingSortAlgorithms::introSort)
+                    .withKeySorters(LongSortAlgorithms::introSort, DoubleSortAlgorithms::introSort,
+                            ObjectSortAlgorithms::introSort),
+            SortEngine.of("radixSort", "Radix Sort", 0xC71585, false, SortAlgorithms::radixSort,
+                    MappedSorts::radixSort, CountingSortAlgorithms::radixSort)
+                    .withKeySorters(LongSortAlgorithms::radixSort, DoubleSortAlgorithms::radixSort,
+                            null),
+            SortEngine.of("bottomUpMergeSort", "Bottom-Up Merge Sort", 0x2E8B57, false, SortAlgorithms::bottomUpMergeSort,
+                    null, CountingSortAlgorithms::bottomUpMergeSort)
+                    .withKeySorters(LongSortAlgorithms::bottomUpMergeSort, DoubleSortAlgorithms::bottomUpMergeSort,
+                            ObjectSortAlgorithms::bottomUpMergeSort),
+            SortEngine.of("iterativeHeapSort", "Heap Iterative Sort", 0xFFA54F, false, SortAlgorithms::iterativeHeapSort,
+                    null, CountingSortAlgorithms::iterativeHeapSort)
+                    .withKeySorters(LongSortAlgorithms::iterativeHeapSort, DoubleSortAlgorithms::iterativeHeapSort,
+                            ObjectSortAlgorithms::iterativeHeapSort),
+            SortEngine.of("floydHeapSort", "Heap Floyd Sort", 0xCD6600, false, SortAlgorithms::floydHeapSort,
+                    null, CountingSortAlgorithms::floydHeapSort)
+                    .withKeySorters(LongSortAlgorithms::floydHeapSort, DoubleSortAlgorithms::floydHeapSort,
+                            ObjectSortAlgorithms::floydHeapSort),
+            SortEngine.of("quaternaryHeapSort", "Heap 4-ary Sort", 0x8B5A00, false, SortAlgorithms::quaternaryHeapSort,
+                    null, CountingSortAlgorithms::quaternaryHeapSort)
+                    .withKeySorters(LongSortAlgorithms::quaternaryHeapSort, DoubleSortAlgorithms::quaternaryHeapSort,
+                            ObjectSortAlgorithms::quaternaryHeapSort),
+            SortEngine.of("mergeArgsort", "Merge Argsort", 0x66CDAA, false,
+                    a -> PayloadSortAlgorithms.argsortAndGather(a, PayloadSortAlgorithms::mergeSort)),
+            SortEngine.of("heapArgsort", "Heap Argsort", 0xFFC125, false,
+                    a -> PayloadSortAlgorithms.argsortAndGather(a, PayloadSortAlgorithms::heapSort)),
+            SortEngine.of("radixArgsort", "Radix Argsort", 0xFF69B4, false,
+                    a -> PayloadSortAlgorithms.argsortAndGather(a, PayloadSortAlgorithms::radixSort)),
+            SortEngine.of("mergePayloadSort", "Merge + Payload", 0x006400, false,
+                    a -> PayloadSortAlgorithms.sortWithRowIds(a, PayloadSortAlgorithms::mergeSort)),
+            SortEngine.of("heapPayloadSort", "Heap + Payload", 0xB8860B, false,
+                    a -> PayloadSortAlgorithms.sortWithRowIds(a, PayloadSortAlgorithms::heapSort)),
+            SortEngine.of("radixPayloadSort", "Radix + Payload", 0x8B0A50, false,
+                    a -> PayloadSortAlgorithms.sortWithRowIds(a, PayloadSortAlgorithms::radixSort)),
+            SortEngine.of("boxedIndexSort", "Integer[] Index Sort", 0x708090, false,
+                    PayloadSortAlgorithms::boxedArgsortAndGather),
+            new ExternalSortEngine()
+        );
+    }
+}
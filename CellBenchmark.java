@@ -0,0 +1,86 @@
+// Import modules
+import java.nio.file.Path;
+
+// Runs one benchmark cell: a seeded input of one distribution and size, sorted by one engine.
+// This is the measuring core behind the table model and the headless runner, so it must stay
+// free of AWT and Swing.
+final class CellBenchmark {
+    // Cells predicted to take longer than this are projected instead of run, -Dsorting.cellBudgetMs
+    static final long DEFAULT_BUDGET_MS = Long.getLong("sorting.cellBudgetMs", 120_000L);
+
+    // What one cell produced
+    static final class Result {
+        final TrialStats stats;  // Measured times, or null if the sort failed
+        final String details;    // Engine-reported run details, or null
+        final OpCounts counts;   // Operation counts, or null if not counted
+
+        Result(TrialStats stats, String details, OpCounts counts) {
+            this.stats = stats;
+            this.details = details;
+            this.counts = counts;
+        }
+    }
+
+    // Seeded inputs shared by every engine of a size, so they all sort one identical input
+    private final DatasetCache datasets = new DatasetCache();
+    private final MappedDatasetStore mappedStore = new MappedDatasetStore();
+    private final TrialEngine trialEngine;
+    private final long seed;
+
+    CellBenchmark(TrialEngine trialEngine, long seed) {
+        this.trialEngine = trialEngine;
+        this.seed = seed;
+    }
+
+    TrialEngine getTrialEngine() { return trialEngine; }
+    long getSeed() { return seed; }
+
+    // Steady-state timing of an in-memory sort, then optionally one instrumented sort of the
+    // same input, so counting never slows a measurement
+    Result run(InputDistribution dist, int size, SortEngine engine, boolean countOperations) {
+        return run(dist, size, KeyType.INT, engine, countOperations);
+    }
+
+    // As above with the dataset converted to other keys; only int sorts have counting variants
+    Result run(InputDistribution dist, int size, KeyType keys, SortEngine engine, boolean countOperations) {
+        TrialStats stats;
+        String details = null;
+        OpCounts counts = null;
+        try {
+            stats = keys.time(trialEngine, datasets.copyOf(dist, size, seed), engine);
+            // Asked on this thread, right after the engine's last sort
+            details = engine.getRunDetails();
+            if (countOperations && keys == KeyType.INT) counts = count(dist, size, engine);
+        } catch (Exception e) {
+            stats = null;
+        }
+        return new Result(stats, details, counts);
+    }
+
+    // One instrumented sort of the cell's int input, also run on its own for a cell timed without
+    // counting; null if the engine has no counting variant or the sort was stopped
+    OpCounts count(InputDistribution dist, int size, SortEngine engine) {
+        CountingSortAlgorithms.Sorter counter = engine.getCountingSorter();
+        if (counter == null) return null;
+        try {
+            return CountingSortAlgorithms.count(counter, datasets.copyOf(dist, size, seed));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // Sorts a fresh mapped copy of the cached dataset file `trials` times; a steady-state
+    // search is unaffordable at these sizes
+    Result runMapped(InputDistribution dist, long size, SortEngine engine, int trials) {
+        try {
+            Path dataset = mappedStore.dataset(dist, size, seed);
+            double[] samples = new double[trials];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = mappedStore.timeSort(dataset, engine.getMappedSorter());
+            }
+            return new Result(TrialStats.of(samples, 0), null, null);
+        } catch (Exception e) {
+            return new Result(null, null, null);
+        }
+    }
+}
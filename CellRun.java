@@ -0,0 +1,55 @@
+// Import modules
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Cancellation handle of one scheduled benchmark cell. Cancelling a queued cell keeps it from
+// starting; cancelling a running one interrupts its thread, and the sorters give up at their
+// next SortAlgorithms.checkCancelled(). A watchdog cancels cells that run past their timeout.
+final class CellRun {
+    // Why a cell was stopped
+    enum Stop { CANCELLED, TIMED_OUT }
+
+    // Cells still running after this long are stopped, -Dsorting.cellTimeoutSec (0 for none)
+    static final long DEFAULT_TIMEOUT_SEC = Long.getLong("sorting.cellTimeoutSec", 600L);
+
+    // One daemon thread fires every timeout; it only sets a flag and interrupts
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "benchmark-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Thread thread;                 // Thread running the cell, null while queued or done
+    private Stop stop;
+    private ScheduledFuture<?> timeout;
+
+    // Called by the cell's thread before it starts; false if the cell was cancelled while queued.
+    // timeoutMs <= 0 means no timeout.
+    synchronized boolean begin(long timeoutMs) {
+        if (stop != null) return false;
+        thread = Thread.currentThread();
+        if (timeoutMs > 0) timeout = WATCHDOG.schedule(() -> cancel(Stop.TIMED_OUT), timeoutMs, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    // Called by the cell's thread when it is done, whatever the outcome. Clears an interrupt
+    // that arrived after the sort's last check, so it cannot hit the pool's next cell.
+    synchronized void end() {
+        if (timeout != null) timeout.cancel(false);
+        thread = null;
+        Thread.interrupted();
+    }
+
+    // Stops the cell; the first reason given wins
+    synchronized void cancel(Stop reason) {
+        if (stop == null) stop = reason;
+        if (thread != null) thread.interrupt();
+    }
+
+    // Why the cell was stopped, or null if it was not
+    synchronized Stop getStop() {
+        return stop;
+    }
+}
@@ -0,0 +1,158 @@
+// Import modules
+import java.util.ArrayList;
+import java.util.List;
+
+// Least-squares fits of one algorithm's (size, time) series to the usual growth models.
+// Fits are done on log(time), so every size weighs the same whatever its magnitude.
+final class ComplexityFit {
+    // Candidate models; POWER has a free exponent, the others a fixed one
+    enum Model {
+        LINEAR("n"), N_LOG_N("n log n"), QUADRATIC("n\u00b2"), POWER("a\u00b7n^b");
+
+        private final String label;
+
+        Model(String label) {
+            this.label = label;
+        }
+
+        // The model's shape without its constant, f(n)
+        double shape(double n, double exponent) {
+            switch (this) {
+                case LINEAR: return n;
+                case N_LOG_N: return n * Math.log(n) / Math.log(2);
+                case QUADRATIC: return n * n;
+                default: return Math.pow(n, exponent);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    // Sizes below this are dominated by fixed per-call costs and left out when enough larger ones exist
+    static final int MIN_FIT_SIZE = Integer.getInteger("sorting.fitMinSize", 1000);
+
+    // One fitted model: time(n) = constant * shape(n)
+    static final class Fit {
+        final Model model;
+        final double constant;
+        final double exponent;      // b for POWER; the model's nominal exponent otherwise
+        final double rmsLogError;   // RMS residual of log10(time), i.e. in decades
+
+        Fit(Model model, double constant, double exponent, double rmsLogError) {
+            this.model = model;
+            this.constant = constant;
+            this.exponent = exponent;
+            this.rmsLogError = rmsLogError;
+        }
+
+        double predict(double n) {
+            return constant * model.shape(n, exponent);
+        }
+    }
+
+    private final double[] sizes;
+    private final double[] times;
+    private final List<Fit> fits = new ArrayList<>();
+    private final Fit power;
+    private final Fit best;
+
+    // Needs at least two points with positive size and time
+    private ComplexityFit(double[] sizes, double[] times) {
+        this.sizes = sizes;
+        this.times = times;
+        power = fitPower();
+        fits.add(fitFixed(Model.LINEAR, 1));
+        fits.add(fitFixed(Model.N_LOG_N, 1));
+        fits.add(fitFixed(Model.QUADRATIC, 2));
+        fits.add(power);
+
+        // The power law always fits at least as well, so prefer a fixed model unless it is
+        // clearly worse (by more than 0.05 decades RMS)
+        Fit chosen = power;
+        for (Fit fit : fits) {
+            if (fit != power && fit.rmsLogError <= power.rmsLogError + 0.05
+                    && (chosen == power || fit.rmsLogError < chosen.rmsLogError)) {
+                chosen = fit;
+            }
+        }
+        best = chosen;
+    }
+
+    // Fits the points with n >= MIN_FIT_SIZE, or all points if fewer than two qualify;
+    // null if fewer than two usable points exist
+    static ComplexityFit of(double[] sizes, double[] times) {
+        List<double[]> usable = new ArrayList<>();
+        List<double[]> large = new ArrayList<>();
+        for (int i = 0; i < sizes.length; i++) {
+            if (!(sizes[i] > 1) || !(times[i] > 0)) continue;
+            usable.add(new double[]{sizes[i], times[i]});
+            if (sizes[i] >= MIN_FIT_SIZE) large.add(new double[]{sizes[i], times[i]});
+        }
+        List<double[]> points = large.size() >= 2 ? large : usable;
+        if (points.size() < 2) return null;
+
+        double[] n = new double[points.size()], t = new double[points.size()];
+        for (int i = 0; i < n.length; i++) {
+            n[i] = points.get(i)[0];
+            t[i] = points.get(i)[1];
+        }
+        return new ComplexityFit(n, t);
+    }
+
+    // log t = log a + b log n by ordinary least squares
+    private Fit fitPower() {
+        int k = sizes.length;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (int i = 0; i < k; i++) {
+            double x = Math.log10(sizes[i]), y = Math.log10(times[i]);
+            sx += x; sy += y; sxx += x * x; sxy += x * y;
+        }
+        double denominator = k * sxx - sx * sx;
+        double b = denominator == 0 ? 1 : (k * sxy - sx * sy) / denominator;
+        double logA = (sy - b * sx) / k;
+        return withError(Model.POWER, Math.pow(10, logA), b);
+    }
+
+    // With the shape fixed, the least-squares log constant is the mean log ratio
+    private Fit fitFixed(Model model, double exponent) {
+        double sum = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            sum += Math.log10(times[i]) - Math.log10(model.shape(sizes[i], exponent));
+        }
+        return withError(model, Math.pow(10, sum / sizes.length), exponent);
+    }
+
+    private Fit withError(Model model, double constant, double exponent) {
+        Fit fit = new Fit(model, constant, exponent, 0);
+        double squares = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            double residual = Math.log10(times[i]) - Math.log10(fit.predict(sizes[i]));
+            squares += residual * residual;
+        }
+        return new Fit(model, constant, exponent, Math.sqrt(squares / sizes.length));
+    }
+
+    List<Fit> getFits() { return fits; }
+    Fit getPower() { return power; }
+    Fit getBest() { return best; }
+    int getPointCount() { return sizes.length; }
+    double getMaxSize() {
+        double max = 0;
+        for (double n : sizes) max = Math.max(max, n);
+        return max;
+    }
+
+    // Prediction of the best-fitting model, in the same unit as the fitted times
+    double extrapolate(double n) {
+        return best.predict(n);
+    }
+
+    // True when the empirical exponent is clearly above what the algorithm should show,
+    // e.g. an n log n sort degrading to quadratic on some input
+    boolean isSuperNominal(double nominalExponent) {
+        return power.exponent > nominalExponent + 0.35;
+    }
+}
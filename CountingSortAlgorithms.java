@@ -0,0 +1,362 @@
+// Instrumented copies of the SortAlgorithms sorters. They follow the originals statement for
+// statement and add to an OpCounts as they go, so the timed code paths carry no counting
+// branches at all. Reads and writes are element loads and stores as written in the source.
+final class CountingSortAlgorithms {
+    private CountingSortAlgorithms() {}
+
+    // Sorts a in place, adding every operation to counts
+    interface Sorter { void sort(int[] a, OpCounts counts); }
+
+    // Sorts input in place with the sorter and returns its counts
+    static OpCounts count(Sorter sorter, int[] input) {
+        OpCounts counts = new OpCounts(input.length);
+        sorter.sort(input, counts);
+        return counts;
+    }
+
+    static void bubbleSort(int[] a, OpCounts c) {
+        for (int i = 0; i < a.length - 1; i++) {
+            SortAlgorithms.checkCancelled();
+            boolean swapped = false;
+            for (int j = 0; j < a.length - i - 1; j++) {
+                c.comparisons++; c.reads += 2;
+                if (a[j] > a[j + 1]) {
+                    swap(a, j, j + 1, c);
+                    swapped = true;
+                }
+            }
+            if (!swapped) break;
+        }
+    }
+
+    static void selectionSort(int[] a, OpCounts c) {
+        for (int i = 0; i < a.length - 1; i++) {
+            SortAlgorithms.checkCancelled();
+            int min = i;
+            for (int j = i + 1; j < a.length; j++) {
+                c.comparisons++; c.reads += 2;
+                if (a[j] < a[min]) min = j;
+            }
+            swap(a, i, min, c);
+        }
+    }
+
+    static void insertionSort(int[] a, OpCounts c) {
+        insertionSort(a, 0, a.length - 1, c, true);
+    }
+
+    private static void insertionSort(int[] a, int lo, int hi, OpCounts c) {
+        insertionSort(a, lo, hi, c, false);
+    }
+
+    // Only the whole-array sort checks for cancellation; the range sorts are short
+    private static void insertionSort(int[] a, int lo, int hi, OpCounts c, boolean cancellable) {
+        for (int i = lo + 1; i <= hi; i++) {
+            if (cancellable) SortAlgorithms.checkCancelled();
+            int key = a[i], j = i - 1;
+            c.reads++;
+            while (j >= lo) {
+                c.comparisons++; c.reads++;
+                if (a[j] <= key) break;
+                a[j + 1] = a[j--];
+                c.reads++; c.writes++;
+            }
+            a[j + 1] = key;
+            c.writes++;
+        }
+    }
+
+    static void mergeSort(int[] a, OpCounts c) {
+        mergeSort(a, new int[a.length], 0, a.length - 1, c);
+    }
+
+    private static void mergeSort(int[] a, int[] tmp, int l, int r, OpCounts c) {
+        if (l >= r) return;
+        int m = (l + r) / 2;
+        mergeSort(a, tmp, l, m, c);
+        mergeSort(a, tmp, m + 1, r, c);
+        merge(a, tmp, l, m, r, c);
+    }
+
+    private static void merge(int[] a, int[] tmp, int l, int m, int r, OpCounts c) {
+        SortAlgorithms.checkCancelled();
+        int i = l, j = m + 1, k = l;
+        while (i <= m && j <= r) {
+            c.comparisons++; c.reads += 3; c.writes++;
+            tmp[k++] = a[i] <= a[j] ? a[i++] : a[j++];
+        }
+        while (i <= m) { tmp[k++] = a[i++]; c.reads++; c.writes++; }
+        while (j <= r) { tmp[k++] = a[j++]; c.reads++; c.writes++; }
+        copy(tmp, l, a, l, r - l + 1, c);
+    }
+
+    // The fork-join version splits and merges exactly like the sequential one, only on
+    // several threads, so its operations are those of mergeSort
+    static void parallelMergeSort(int[] a, OpCounts c) {
+        mergeSort(a, c);
+    }
+
+    static void bottomUpMergeSort(int[] a, OpCounts c) {
+        int n = a.length;
+        int[] scratch = new int[n];
+        int run = SortAlgorithms.BOTTOM_UP_RUN;
+        for (int lo = 0; lo < n; lo += run) insertionSort(a, lo, Math.min(lo + run, n) - 1, c);
+
+        int[] src = a, dst = scratch;
+        for (int width = run; width < n; width *= 2) {
+            SortAlgorithms.checkCancelled();
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n), hi = Math.min(lo + 2 * width, n);
+                boolean ordered = mid >= hi;
+                if (!ordered) {
+                    c.comparisons++; c.reads += 2;
+                    ordered = src[mid - 1] <= src[mid];
+                }
+                if (ordered) copy(src, lo, dst, lo, hi - lo, c);
+                else mergeRuns(src, dst, lo, mid, hi, c);
+            }
+            int[] t = src; src = dst; dst = t;
+        }
+        if (src != a) copy(src, 0, a, 0, n, c);
+    }
+
+    private static void mergeRuns(int[] src, int[] dst, int lo, int mid, int hi, OpCounts c) {
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            c.comparisons++; c.reads += 3; c.writes++;
+            dst[k++] = src[i] <= src[j] ? src[i++] : src[j++];
+        }
+        if (i < mid) copy(src, i, dst, k, mid - i, c);
+        else copy(src, j, dst, k, hi - j, c);
+    }
+
+    static void introSort(int[] a, OpCounts c) {
+        if (a.length < 2) return;
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(a.length));
+        introSort(a, 0, a.length - 1, depthLimit, c);
+    }
+
+    private static void introSort(int[] a, int lo, int hi, int depth, OpCounts c) {
+        while (hi - lo + 1 > SortAlgorithms.INTRO_INSERTION_CUTOFF) {
+            SortAlgorithms.checkCancelled();
+            if (depth-- == 0) {
+                heapSort(a, lo, hi, c);
+                return;
+            }
+
+            int third = (hi - lo) / 3;
+            swap(a, lo, lo + third, c);
+            swap(a, hi, hi - third, c);
+            c.comparisons++; c.reads += 2;
+            if (a[lo] > a[hi]) swap(a, lo, hi, c);
+            int p = a[lo], q = a[hi];
+            c.reads += 2;
+
+            int lt = lo + 1, gt = hi - 1, k = lo + 1;
+            while (k <= gt) {
+                c.comparisons++; c.reads++;
+                if (a[k] < p) {
+                    swap(a, k, lt++, c);
+                } else {
+                    c.comparisons++; c.reads++;
+                    if (a[k] > q) {
+                        while (true) {
+                            c.comparisons++; c.reads++;
+                            if (!(a[gt] > q && k < gt)) break;
+                            gt--;
+                        }
+                        swap(a, k, gt--, c);
+                        c.comparisons++; c.reads++;
+                        if (a[k] < p) swap(a, k, lt++, c);
+                    }
+                }
+                k++;
+            }
+            swap(a, lo, --lt, c);
+            swap(a, hi, ++gt, c);
+
+            introSort(a, lo, lt - 1, depth, c);
+            c.comparisons++;
+            if (p != q) introSort(a, lt + 1, gt - 1, depth, c);
+            lo = gt + 1;
+        }
+        insertionSort(a, lo, hi, c);
+    }
+
+    private static void heapSort(int[] a, int lo, int hi, OpCounts c) {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) siftDown(a, lo, i, n, c);
+        for (int end = n - 1; end > 0; end--) {
+            SortAlgorithms.checkCancelled();
+            swap(a, lo, lo + end, c);
+            siftDown(a, lo, 0, end, c);
+        }
+    }
+
+    private static void siftDown(int[] a, int base, int i, int n, OpCounts c) {
+        int value = a[base + i];
+        c.reads++;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n) {
+                c.comparisons++; c.reads += 2;
+                if (a[base + child + 1] > a[base + child]) child++;
+            }
+            c.comparisons++; c.reads++;
+            if (a[base + child] <= value) break;
+            a[base + i] = a[base + child];
+            c.reads++; c.writes++;
+            i = child;
+        }
+        a[base + i] = value;
+        c.writes++;
+    }
+
+    // Same passes as RadixSorter, including skipped trivial digits; no comparisons at all
+    static void radixSort(int[] a, OpCounts c) {
+        final int bits = 8, buckets = 1 << bits, passes = Integer.SIZE / bits;
+        int n = a.length;
+        if (n < 2) return;
+        int[][] counts = new int[passes][buckets];
+        for (int i = 0; i < n; i++) {
+            int key = a[i] ^ Integer.MIN_VALUE;
+            for (int pass = 0; pass < passes; pass++) counts[pass][(key >>> (pass * bits)) & (buckets - 1)]++;
+        }
+        c.reads += n;
+
+        int[] src = a, dst = new int[n];
+        for (int pass = 0; pass < passes; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * bits;
+            SortAlgorithms.checkCancelled();
+            c.reads++;
+            if (count[((src[0] ^ Integer.MIN_VALUE) >>> shift) & (buckets - 1)] == n) continue;
+
+            int sum = 0;
+            for (int b = 0; b < buckets; b++) {
+                int k = count[b];
+                count[b] = sum;
+                sum += k;
+            }
+            for (int i = 0; i < n; i++) {
+                int v = src[i];
+                dst[count[((v ^ Integer.MIN_VALUE) >>> shift) & (buckets - 1)]++] = v;
+            }
+            c.reads += n; c.writes += n;
+            int[] t = src; src = dst; dst = t;
+        }
+        if (src != a) copy(src, 0, a, 0, n, c);
+    }
+
+    static void heapSort(int[] a, OpCounts c) {
+        int n = a.length;
+        for (int i = n / 2 - 1; i >= 0; i--) heapify(a, n, i, c);
+        for (int i = n - 1; i > 0; i--) {
+            SortAlgorithms.checkCancelled();
+            swap(a, 0, i, c);
+            heapify(a, i, 0, c);
+        }
+    }
+
+    private static void heapify(int[] a, int n, int i, OpCounts c) {
+        int largest = i, l = 2 * i + 1, r = 2 * i + 2;
+        if (l < n) {
+            c.comparisons++; c.reads += 2;
+            if (a[l] > a[largest]) largest = l;
+        }
+        if (r < n) {
+            c.comparisons++; c.reads += 2;
+            if (a[r] > a[largest]) largest = r;
+        }
+        if (largest != i) {
+            swap(a, i, largest, c);
+            heapify(a, n, largest, c);
+        }
+    }
+
+    static void iterativeHeapSort(int[] a, OpCounts c) {
+        if (a.length > 1) heapSort(a, 0, a.length - 1, c);
+    }
+
+    static void floydHeapSort(int[] a, OpCounts c) {
+        int n = a.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            c.reads++;
+            floydSiftDown(a, i, n, a[i], c);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            SortAlgorithms.checkCancelled();
+            int value = a[end];
+            a[end] = a[0];
+            c.reads += 2; c.writes++;
+            floydSiftDown(a, 0, end, value, c);
+        }
+    }
+
+    private static void floydSiftDown(int[] a, int i, int n, int value, OpCounts c) {
+        int start = i, child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n) {
+                c.comparisons++; c.reads += 2;
+                if (a[child + 1] > a[child]) child++;
+            }
+            a[i] = a[child];
+            c.reads++; c.writes++;
+            i = child;
+        }
+        while (i > start) {
+            int parent = (i - 1) / 2;
+            c.comparisons++; c.reads++;
+            if (a[parent] >= value) break;
+            a[i] = a[parent];
+            c.reads++; c.writes++;
+            i = parent;
+        }
+        a[i] = value;
+        c.writes++;
+    }
+
+    static void quaternaryHeapSort(int[] a, OpCounts c) {
+        int n = a.length;
+        if (n < 2) return;
+        for (int i = (n - 2) / 4; i >= 0; i--) quaternarySiftDown(a, i, n, c);
+        for (int end = n - 1; end > 0; end--) {
+            SortAlgorithms.checkCancelled();
+            swap(a, 0, end, c);
+            quaternarySiftDown(a, 0, end, c);
+        }
+    }
+
+    private static void quaternarySiftDown(int[] a, int i, int n, OpCounts c) {
+        int value = a[i];
+        c.reads++;
+        while (true) {
+            int first = 4 * i + 1;
+            if (first >= n) break;
+            int largest = first;
+            int last = Math.min(first + 4, n);
+            for (int k = first + 1; k < last; k++) {
+                c.comparisons++; c.reads += 2;
+                if (a[k] > a[largest]) largest = k;
+            }
+            c.comparisons++; c.reads++;
+            if (a[largest] <= value) break;
+            a[i] = a[largest];
+            c.reads++; c.writes++;
+            i = largest;
+        }
+        a[i] = value;
+        c.writes++;
+    }
+
+    private static void swap(int[] a, int i, int j, OpCounts c) {
+        int tmp = a[i]; a[i] = a[j]; a[j] = tmp;
+        c.swaps++; c.reads += 2; c.writes += 2;
+    }
+
+    private static void copy(int[] src, int srcPos, int[] dst, int dstPos, int len, OpCounts c) {
+        System.arraycopy(src, srcPos, dst, dstPos, len);
+        c.reads += len; c.writes += len;
+    }
+}
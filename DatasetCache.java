@@ -0,0 +1,91 @@
+// Import modules
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Generated benchmark inputs keyed by (distribution, size, seed). Every caller gets its own
+// clone of the cached array, so all columns of a row sort exactly the same input and a
+// misbehaving sorter cannot corrupt it. Least recently used datasets are evicted once the
+// cache holds more than its byte budget.
+class DatasetCache {
+    // Seed for the benchmark corpus, -Dsorting.seed
+    static final long DEFAULT_SEED = Long.getLong("sorting.seed", 42L);
+    // Byte budget for cached datasets, -Dsorting.corpusCacheMb
+    static final long DEFAULT_MAX_BYTES = Long.getLong("sorting.corpusCacheMb", 512L) << 20;
+
+    // Values span the whole int range, as the sorters must handle negative keys
+    static final int MIN_VALUE = Integer.MIN_VALUE;
+    static final int MAX_VALUE = Integer.MAX_VALUE;
+
+    private final long maxBytes;
+    private long cachedBytes = 0;
+    // Access-ordered, so iteration starts at the least recently used dataset
+    private final LinkedHashMap<Key, int[]> datasets = new LinkedHashMap<>(16, 0.75f, true);
+
+    DatasetCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    DatasetCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    // Returns a fresh copy of the dataset, generating it on first use
+    int[] copyOf(InputDistribution distribution, int size, long seed) {
+        return get(distribution, size, seed).clone();
+    }
+
+    // Cells of one row ask for the same dataset at about the same time; generating under
+    // the lock makes the others wait for that one array rather than build their own
+    private synchronized int[] get(InputDistribution distribution, int size, long seed) {
+        Key key = new Key(distribution, size, seed);
+        int[] cached = datasets.get(key);
+        if (cached != null) return cached;
+
+        int[] generated = distribution.generate(size, MIN_VALUE, MAX_VALUE, seed);
+        long bytes = (long) size * Integer.BYTES;
+        if (bytes > maxBytes) return generated; // Too big to keep; regenerated identically next time
+
+        datasets.put(key, generated);
+        cachedBytes += bytes;
+        Iterator<Map.Entry<Key, int[]>> eldest = datasets.entrySet().iterator();
+        while (cachedBytes > maxBytes) {
+            cachedBytes -= (long) eldest.next().getValue().length * Integer.BYTES;
+            eldest.remove();
+        }
+        return generated;
+    }
+
+    synchronized void clear() {
+        datasets.clear();
+        cachedBytes = 0;
+    }
+
+    synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    private static final class Key {
+        final InputDistribution distribution;
+        final int size;
+        final long seed;
+
+        Key(InputDistribution distribution, int size, long seed) {
+            this.distribution = distribution;
+            this.size = size;
+            this.seed = seed;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return distribution == other.distribution && size == other.size && seed == other.seed;
+        }
+
+        @Override
+        public int hashCode() {
+            return (distribution.hashCode() * 31 + size) * 31 + Long.hashCode(seed);
+        }
+    }
+}
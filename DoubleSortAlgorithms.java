@@ -0,0 +1,429 @@
+// Import modules
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// double[] copies of the SortAlgorithms sorters for the "double" key type. They sort into
+// Double.compare order: -0.0 before 0.0 and NaN after everything, as Arrays.sort does. The
+// comparison sorts still compare with plain < and <=, which get neither right: sortNumbers
+// first moves the NaNs to the end and turns -0.0 into 0.0, the sorter orders the rest, and
+// the -0.0s are written back at the start of the zeros. Radix sort orders the raw bits instead.
+final class DoubleSortAlgorithms {
+    private DoubleSortAlgorithms() {}
+
+    // Sorts a in place into ascending order
+    interface Sorter { void sort(double[] a); }
+
+    // Sorts a[0..n), which holds no NaN and no -0.0
+    private interface RangeSorter { void sort(double[] a, int n); }
+
+    static void bubbleSort(double[] a) { sortNumbers(a, DoubleSortAlgorithms::bubbleSort); }
+    static void selectionSort(double[] a) { sortNumbers(a, DoubleSortAlgorithms::selectionSort); }
+    static void insertionSort(double[] a) { sortNumbers(a, DoubleSortAlgorithms::insertionSort); }
+    static void mergeSort(double[] a) { sortNumbers(a, DoubleSortAlgorithms::mergeSort); }
+    static void heapSort(double[] a) { sortNumbers(a, DoubleSortAlgorithms::heapSort); }
+    static void parallelMergeSort(double[] a) { sortNumbers(a, DoubleSortAlgorithms::parallelMergeSort); }
+    static void introSort(double[] a) { sortNumbers(a, DoubleSortAlgorithms::introSort); }
+    static void bottomUpMergeSort(double[] a) { sortNumbers(a, DoubleSortAlgorithms::bottomUpMergeSort); }
+    static void iterativeHeapSort(double[] a) { sortNumbers(a, DoubleSortAlgorithms::iterativeHeapSort); }
+    static void floydHeapSort(double[] a) { sortNumbers(a, DoubleSortAlgorithms::floydHeapSort); }
+    static void quaternaryHeapSort(double[] a) { sortNumbers(a, DoubleSortAlgorithms::quaternaryHeapSort); }
+
+    private static void sortNumbers(double[] a, RangeSorter sorter) {
+        int n = moveNaNsToEnd(a);
+        int negativeZeros = 0;
+        for (int i = 0; i < n; i++) {
+            if (a[i] == 0.0 && Double.doubleToRawLongBits(a[i]) != 0) {
+                a[i] = 0.0;
+                negativeZeros++;
+            }
+        }
+        sorter.sort(a, n);
+        if (negativeZeros == 0) return;
+
+        // The zeros are one run; find its start and put the -0.0s first
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < 0.0) lo = mid + 1;
+            else hi = mid;
+        }
+        Arrays.fill(a, lo, lo + negativeZeros, -0.0);
+    }
+
+    // Swaps every NaN behind the other values and returns how many values are not NaN
+    private static int moveNaNsToEnd(double[] a) {
+        int n = a.length;
+        for (int i = n - 1; i >= 0; i--) {
+            double v = a[i];
+            if (v != v) {
+                a[i] = a[--n];
+                a[n] = v;
+            }
+        }
+        return n;
+    }
+
+    // Bubble Sort
+    private static void bubbleSort(double[] a, int n) {
+        for (int i = 0; i < n - 1; i++) {
+            SortAlgorithms.checkCancelled();
+            boolean swapped = false;
+            for (int j = 0; j < n - i - 1; j++) {
+                if (a[j] > a[j + 1]) {
+                    double tmp = a[j]; a[j] = a[j + 1]; a[j + 1] = tmp;
+                    swapped = true;
+                }
+            }
+            if (!swapped) break;
+        }
+    }
+
+    // Selection Sort
+    private static void selectionSort(double[] a, int n) {
+        for (int i = 0; i < n - 1; i++) {
+            SortAlgorithms.checkCancelled();
+            int min = i;
+            for (int j = i + 1; j < n; j++) if (a[j] < a[min]) min = j;
+            double tmp = a[i]; a[i] = a[min]; a[min] = tmp;
+        }
+    }
+
+    // Insertion Sort
+    private static void insertionSort(double[] a, int n) {
+        for (int i = 1; i < n; i++) {
+            SortAlgorithms.checkCancelled();
+            double key = a[i];
+            int j = i - 1;
+            while (j >= 0 && a[j] > key) a[j + 1] = a[j--];
+            a[j + 1] = key;
+        }
+    }
+
+    // Merge Sort
+    private static void mergeSort(double[] a, int n) {
+        mergeSort(a, new double[n], 0, n - 1);
+    }
+
+    private static void mergeSort(double[] a, double[] tmp, int l, int r) {
+        if (l >= r) return;
+        int m = (l + r) / 2;
+        mergeSort(a, tmp, l, m);
+        mergeSort(a, tmp, m + 1, r);
+        merge(a, tmp, l, m, r);
+    }
+
+    private static void merge(double[] a, double[] tmp, int l, int m, int r) {
+        SortAlgorithms.checkCancelled();
+        int i = l, j = m + 1, k = l;
+        while (i <= m && j <= r) tmp[k++] = a[i] <= a[j] ? a[i++] : a[j++];
+        while (i <= m) tmp[k++] = a[i++];
+        while (j <= r) tmp[k++] = a[j++];
+        System.arraycopy(tmp, l, a, l, r - l + 1);
+    }
+
+    // Bottom-Up Merge Sort: insertion-sorted base runs, then iterative merging that
+    // alternates between the array and a scratch buffer instead of copying back
+    private static final ThreadLocal<double[]> MERGE_SCRATCH = new ThreadLocal<>();
+
+    // Uses a per-thread scratch buffer that only grows, so repeated trials do not allocate
+    private static void bottomUpMergeSort(double[] a, int n) {
+        double[] scratch = MERGE_SCRATCH.get();
+        if (scratch == null || scratch.length < n) {
+            scratch = new double[n];
+            MERGE_SCRATCH.set(scratch);
+        }
+
+        for (int lo = 0; lo < n; lo += SortAlgorithms.BOTTOM_UP_RUN) {
+            insertionSort(a, lo, Math.min(lo + SortAlgorithms.BOTTOM_UP_RUN, n) - 1);
+        }
+
+        double[] src = a, dst = scratch;
+        for (int width = SortAlgorithms.BOTTOM_UP_RUN; width < n; width *= 2) {
+            SortAlgorithms.checkCancelled();
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n), hi = Math.min(lo + 2 * width, n);
+                if (mid >= hi || src[mid - 1] <= src[mid]) {
+                    // Single run or runs already in order: no comparisons, just carry it over
+                    System.arraycopy(src, lo, dst, lo, hi - lo);
+                } else {
+                    mergeRuns(src, dst, lo, mid, hi);
+                }
+            }
+            double[] t = src; src = dst; dst = t;
+        }
+
+        // An odd number of levels leaves the result in the scratch buffer
+        if (src != a) System.arraycopy(src, 0, a, 0, n);
+    }
+
+    // Merges src[lo..mid) and src[mid..hi) into dst[lo..hi)
+    private static void mergeRuns(double[] src, double[] dst, int lo, int mid, int hi) {
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) dst[k++] = src[i] <= src[j] ? src[i++] : src[j++];
+        if (i < mid) System.arraycopy(src, i, dst, k, mid - i);
+        else System.arraycopy(src, j, dst, k, hi - j);
+    }
+
+    // Parallel Merge Sort (fork-join); subarrays at or below the cutoff are merge sorted sequentially
+    private static void parallelMergeSort(double[] a, int n) {
+        if (n < 2) return;
+        AtomicBoolean cancelled = new AtomicBoolean();
+        SortAlgorithms.invokeCancellable(new MergeSortTask(a, new double[n], 0, n - 1,
+                Math.max(1, SortAlgorithms.PARALLEL_MERGE_CUTOFF), cancelled), cancelled);
+    }
+
+    private static final class MergeSortTask extends RecursiveAction {
+        private final double[] a, tmp;
+        private final int l, r, cutoff;
+        private final AtomicBoolean cancelled; // Raised when the cell is cancelled
+
+        MergeSortTask(double[] a, double[] tmp, int l, int r, int cutoff, AtomicBoolean cancelled) {
+            this.a = a; this.tmp = tmp; this.l = l; this.r = r; this.cutoff = cutoff; this.cancelled = cancelled;
+        }
+
+        @Override
+        protected void compute() {
+            SortAlgorithms.checkCancelled(cancelled);
+            if (r - l + 1 <= cutoff) {
+                mergeSort(a, tmp, l, r);
+                return;
+            }
+            int m = (l + r) / 2;
+            invokeAll(new MergeSortTask(a, tmp, l, m, cutoff, cancelled), new MergeSortTask(a, tmp, m + 1, r, cutoff, cancelled));
+            merge(a, tmp, l, m, r);
+        }
+    }
+
+    // Dual-pivot Introsort: Yaroslavskiy partitioning, heap sort once the depth limit is hit,
+    // insertion sort for short ranges
+    private static void introSort(double[] a, int n) {
+        if (n < 2) return;
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(n));
+        introSort(a, 0, n - 1, depthLimit);
+    }
+
+    private static void introSort(double[] a, int lo, int hi, int depth) {
+        while (hi - lo + 1 > SortAlgorithms.INTRO_INSERTION_CUTOFF) {
+            SortAlgorithms.checkCancelled();
+            if (depth-- == 0) {
+                heapSort(a, lo, hi);
+                return;
+            }
+
+            // Use the tertiles as pivots, smaller one at lo and larger one at hi
+            int third = (hi - lo) / 3;
+            swap(a, lo, lo + third);
+            swap(a, hi, hi - third);
+            if (a[lo] > a[hi]) swap(a, lo, hi);
+            double p = a[lo], q = a[hi];
+
+            // Partition into < p | p..q | > q
+            int lt = lo + 1, gt = hi - 1, k = lo + 1;
+            while (k <= gt) {
+                if (a[k] < p) {
+                    swap(a, k, lt++);
+                } else if (a[k] > q) {
+                    while (a[gt] > q && k < gt) gt--;
+                    swap(a, k, gt--);
+                    if (a[k] < p) swap(a, k, lt++);
+                }
+                k++;
+            }
+            swap(a, lo, --lt);
+            swap(a, hi, ++gt);
+
+            // Recurse into the left and middle parts, loop on the right part
+            introSort(a, lo, lt - 1, depth);
+            if (p != q) introSort(a, lt + 1, gt - 1, depth); // Middle is all equal when p == q
+            lo = gt + 1;
+        }
+        insertionSort(a, lo, hi);
+    }
+
+    // Insertion sort of a[lo..hi]
+    private static void insertionSort(double[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            double key = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j] > key) a[j + 1] = a[j--];
+            a[j + 1] = key;
+        }
+    }
+
+    // Heap sort of a[lo..hi] with an iterative sift-down
+    private static void heapSort(double[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) siftDown(a, lo, i, n);
+        for (int end = n - 1; end > 0; end--) {
+            SortAlgorithms.checkCancelled();
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] a, int base, int i, int n) {
+        double value = a[base + i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && a[base + child + 1] > a[base + child]) child++;
+            if (a[base + child] <= value) break;
+            a[base + i] = a[base + child];
+            i = child;
+        }
+        a[base + i] = value;
+    }
+
+    private static void swap(double[] a, int i, int j) {
+        double tmp = a[i]; a[i] = a[j]; a[j] = tmp;
+    }
+
+    // LSD Radix Sort with 8-bit digits over the 64 bits of each value, flipped so that unsigned
+    // order is numeric order: all bits of negatives, only the sign bit of positives. That puts
+    // -0.0 before 0.0 by itself; NaNs, whose bits would land on both ends, are moved out first.
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int PASSES = Long.SIZE / RADIX_BITS;
+    private static final ThreadLocal<RadixBuffers> RADIX_BUFFERS = ThreadLocal.withInitial(RadixBuffers::new);
+
+    private static final class RadixBuffers {
+        final int[][] counts = new int[PASSES][BUCKETS];
+        double[] scratch = new double[0];
+    }
+
+    private static long radixKey(double v) {
+        long bits = Double.doubleToRawLongBits(v);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    static void radixSort(double[] a) {
+        int n = moveNaNsToEnd(a);
+        if (n < 2) return;
+        RadixBuffers buffers = RADIX_BUFFERS.get();
+        if (buffers.scratch.length < n) buffers.scratch = new double[n];
+        int[][] counts = buffers.counts;
+
+        // Build every digit's histogram in one pass
+        for (int[] c : counts) Arrays.fill(c, 0);
+        for (int i = 0; i < n; i++) {
+            long key = radixKey(a[i]);
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass][(int) (key >>> (pass * RADIX_BITS)) & (BUCKETS - 1)]++;
+            }
+        }
+
+        // Ping-pong between the input and the scratch buffer
+        double[] src = a, dst = buffers.scratch;
+        for (int pass = 0; pass < PASSES; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * RADIX_BITS;
+            SortAlgorithms.checkCancelled();
+
+            // Skip digits where every key falls into the same bucket
+            if (count[(int) (radixKey(src[0]) >>> shift) & (BUCKETS - 1)] == n) continue;
+
+            // Turn counts into starting offsets
+            int sum = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                int c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+
+            // Stable scatter into the destination buffer
+            for (int i = 0; i < n; i++) {
+                double v = src[i];
+                dst[count[(int) (radixKey(v) >>> shift) & (BUCKETS - 1)]++] = v;
+            }
+            double[] t = src; src = dst; dst = t;
+        }
+
+        // An odd number of performed passes leaves the result in the scratch buffer
+        if (src != a) System.arraycopy(src, 0, a, 0, n);
+    }
+
+    // Heap Sort
+    private static void heapSort(double[] a, int n) {
+        for (int i = n / 2 - 1; i >= 0; i--) heapify(a, n, i);
+        for (int i = n - 1; i > 0; i--) {
+            SortAlgorithms.checkCancelled();
+            double tmp = a[0]; a[0] = a[i]; a[i] = tmp;
+            heapify(a, i, 0);
+        }
+    }
+
+    private static void heapify(double[] a, int n, int i) {
+        int largest = i, l = 2 * i + 1, r = 2 * i + 2;
+        if (l < n && a[l] > a[largest]) largest = l;
+        if (r < n && a[r] > a[largest]) largest = r;
+        if (largest != i) {
+            double tmp = a[i]; a[i] = a[largest]; a[largest] = tmp;
+            heapify(a, n, largest);
+        }
+    }
+
+    // Heap Sort with an iterative sift-down that moves a hole instead of swapping
+    private static void iterativeHeapSort(double[] a, int n) {
+        if (n > 1) heapSort(a, 0, n - 1);
+    }
+
+    // Bottom-up (Floyd) Heap Sort: sift the hole to a leaf along the larger children with one
+    // comparison per level, then climb back up to where the value belongs
+    private static void floydHeapSort(double[] a, int n) {
+        for (int i = n / 2 - 1; i >= 0; i--) floydSiftDown(a, i, n, a[i]);
+        for (int end = n - 1; end > 0; end--) {
+            SortAlgorithms.checkCancelled();
+            double value = a[end];
+            a[end] = a[0];
+            floydSiftDown(a, 0, end, value);
+        }
+    }
+
+    // Places value into the heap a[0..n) starting from the hole at i
+    private static void floydSiftDown(double[] a, int i, int n, double value) {
+        int start = i, child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && a[child + 1] > a[child]) child++;
+            a[i] = a[child];
+            i = child;
+        }
+        int parent;
+        while (i > start && a[parent = (i - 1) / 2] < value) {
+            a[i] = a[parent];
+            i = parent;
+        }
+        a[i] = value;
+    }
+
+    // 4-ary Heap Sort: half the depth of a binary heap and the four children of a node
+    // share a cache line more often than not
+    private static void quaternaryHeapSort(double[] a, int n) {
+        if (n < 2) return;
+        for (int i = (n - 2) / 4; i >= 0; i--) quaternarySiftDown(a, i, n);
+        for (int end = n - 1; end > 0; end--) {
+            SortAlgorithms.checkCancelled();
+            swap(a, 0, end);
+            quaternarySiftDown(a, 0, end);
+        }
+    }
+
+    private static void quaternarySiftDown(double[] a, int i, int n) {
+        double value = a[i];
+        while (true) {
+            int first = 4 * i + 1;
+            if (first >= n) break;
+
+            // Pick the largest of up to four children
+            int largest = first;
+            int last = Math.min(first + 4, n);
+            for (int c = first + 1; c < last; c++) {
+                if (a[c] > a[largest]) largest = c;
+            }
+            if (a[largest] <= value) break;
+            a[i] = a[largest];
+            i = largest;
+        }
+        a[i] = value;
+    }
+}
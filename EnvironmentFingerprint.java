@@ -0,0 +1,121 @@
+// Import modules
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// What a timing depends on besides the code: JVM, its flags, CPU, core count and collector.
+// Stored next to every history entry so a slowdown can be told apart from a JDK upgrade or a
+// move to another machine. Two fingerprints with the same id describe the same environment.
+final class EnvironmentFingerprint {
+    private static final String[] FIELD_NAMES = {"JVM", "Vendor", "VM", "Flags", "CPU", "Cores", "GC", "OS"};
+
+    private final String[] fields; // In FIELD_NAMES order, free of tabs and line breaks
+    private final String id;
+
+    private static EnvironmentFingerprint current;
+
+    private EnvironmentFingerprint(String[] fields) {
+        for (int i = 0; i < fields.length; i++) fields[i] = fields[i] == null ? "" : fields[i].replaceAll("[\t\r\n]", " ");
+        this.fields = fields;
+        this.id = String.format("%016x", fnv1a(String.join("\t", fields)));
+    }
+
+    // Fingerprint of the running JVM; taken once, as none of it changes while it runs
+    static synchronized EnvironmentFingerprint current() {
+        if (current == null) {
+            List<String> gcs = new ArrayList<>();
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) gcs.add(gc.getName());
+            current = new EnvironmentFingerprint(new String[]{
+                System.getProperty("java.version"),
+                System.getProperty("java.vendor"),
+                System.getProperty("java.vm.name"),
+                jvmFlags(),
+                cpuModel(),
+                String.valueOf(Runtime.getRuntime().availableProcessors()),
+                String.join(", ", gcs),
+                System.getProperty("os.name") + " " + System.getProperty("os.arch")
+            });
+        }
+        return current;
+    }
+
+    // JVM options, without -D properties: those configure the application, not the JVM
+    private static String jvmFlags() {
+        List<String> flags = new ArrayList<>();
+        for (String arg : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (!arg.startsWith("-D")) flags.add(arg);
+        }
+        return String.join(" ", flags);
+    }
+
+    // The "model name" of /proc/cpuinfo where there is one, else the architecture
+    private static String cpuModel() {
+        Path cpuinfo = Paths.get("/proc/cpuinfo");
+        try {
+            if (Files.isReadable(cpuinfo)) {
+                for (String line : Files.readAllLines(cpuinfo, StandardCharsets.UTF_8)) {
+                    if (line.startsWith("model name") && line.indexOf(':') > 0) {
+                        return line.substring(line.indexOf(':') + 1).trim();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Fall through to the architecture
+        }
+        return System.getProperty("os.arch");
+    }
+
+    // 64-bit FNV-1a of the text's UTF-8 bytes
+    static long fnv1a(String text) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    String getId() { return id; }
+    String getJavaVersion() { return fields[0]; }
+    String getCpuModel() { return fields[4]; }
+    String getGc() { return fields[6]; }
+
+    // One tab-separated line: the id, then the fields
+    String toLine() {
+        StringBuilder sb = new StringBuilder(id);
+        for (String field : fields) sb.append('\t').append(field);
+        return sb.toString();
+    }
+
+    // Reads a toLine() line back; null if it is malformed
+    static EnvironmentFingerprint fromLine(String line) {
+        String[] parts = line.split("\t", -1);
+        if (parts.length != FIELD_NAMES.length + 1) return null;
+        String[] fields = new String[FIELD_NAMES.length];
+        System.arraycopy(parts, 1, fields, 0, fields.length);
+        EnvironmentFingerprint fingerprint = new EnvironmentFingerprint(fields);
+        return fingerprint.id.equals(parts[0]) ? fingerprint : null;
+    }
+
+    // Short description, e.g. "Java 17.0.2 (G1 Young Generation, G1 Old Generation), 8 cores, <cpu>"
+    String describe() {
+        return "Java " + fields[0] + " (" + fields[6] + "), " + fields[5] + " cores, " + fields[4];
+    }
+
+    // What differs from another environment, e.g. "JVM 17.0.2 -> 21.0.1; GC ...", or "" if nothing
+    String differencesFrom(EnvironmentFingerprint other) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].equals(other.fields[i])) continue;
+            if (sb.length() > 0) sb.append("; ");
+            sb.append(FIELD_NAMES[i]).append(' ').append(other.fields[i]).append(" -> ").append(fields[i]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,327 @@
+// Import modules
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+// External merge sort for int data that does not fit in memory, in three stages:
+//   1. read the input in runs that fit the memory budget and sort each with an in-memory engine
+//   2. spill every sorted run to a temp file as raw native-order ints
+//   3. k-way merge the runs through a binary min-heap, each run read with its own large NIO buffer
+// When there are more runs than the budget allows buffers for, groups of runs are merged into
+// longer runs first. Instances are not thread-safe; ExternalSortEngine keeps one per thread.
+class ExternalMergeSorter {
+    // Memory for one run and, while merging, for all read and write buffers together
+    static final long DEFAULT_BUDGET_BYTES = Long.getLong("sorting.externalBudgetMb", 4L) << 20;
+    // Upper bound on runs merged at once, whatever the budget
+    static final int MAX_FAN_IN = Integer.getInteger("sorting.externalMaxFanIn", 64);
+    // Smallest per-run read buffer worth having; below this, seeks dominate
+    static final int MIN_BUFFER_BYTES = 64 << 10;
+    // Where runs are spilled, -Dsorting.externalTmpDir
+    static final Path DEFAULT_TMP_DIR = Paths.get(System.getProperty("sorting.externalTmpDir",
+            System.getProperty("java.io.tmpdir")));
+
+    // In-memory engine used to sort each run, -Dsorting.externalRunSort=radix|merge
+    enum RunSort {
+        RADIX, MERGE;
+
+        static RunSort fromSystemProperties() {
+            return "merge".equalsIgnoreCase(System.getProperty("sorting.externalRunSort")) ? MERGE : RADIX;
+        }
+
+        void sort(int[] run) {
+            if (this == MERGE) SortAlgorithms.mergeSort(run);
+            else SortAlgorithms.radixSort(run);
+        }
+    }
+
+    // I/O done by the last sort; in-memory copies to and from the caller's array are not counted
+    static final class Stats {
+        int runs;
+        int mergePasses;
+        int fanIn;           // Largest number of runs merged at once
+        long bytesRead;
+        long bytesWritten;
+
+        @Override
+        public String toString() {
+            return String.format("%d run(s), fan-in %d over %d pass(es), %.1f MB read, %.1f MB written",
+                    runs, fanIn, mergePasses, bytesRead / 1e6, bytesWritten / 1e6);
+        }
+    }
+
+    private final long budgetBytes;
+    private final RunSort runSort;
+    private final Path tmpDir;
+    private Stats lastStats;
+    // Direct buffers are costly to allocate and only freed by GC, so they are kept across sorts
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+
+    ExternalMergeSorter() {
+        this(DEFAULT_BUDGET_BYTES, RunSort.fromSystemProperties(), DEFAULT_TMP_DIR);
+    }
+
+    ExternalMergeSorter(long budgetBytes, RunSort runSort, Path tmpDir) {
+        this.budgetBytes = Math.max(budgetBytes, 2L * MIN_BUFFER_BYTES);
+        this.runSort = runSort;
+        this.tmpDir = tmpDir;
+    }
+
+    // Statistics of the most recent sort, or null before the first one
+    Stats getLastStats() {
+        return lastStats;
+    }
+
+    // Sorts an in-memory array by spilling it in runs, as if it were read from a file
+    void sort(int[] a) throws IOException {
+        int[] pos = {0};
+        sort(buffer -> {
+            int n = Math.min(buffer.length, a.length - pos[0]);
+            System.arraycopy(a, pos[0], buffer, 0, n);
+            pos[0] += n;
+            return n;
+        }, a.length, new IntSink() {
+            int next = 0;
+            @Override public void put(int value) { a[next++] = value; }
+            @Override public void close() {}
+        });
+    }
+
+    // Sorts a file of raw native-order ints into another file
+    void sort(Path input, Path output) throws IOException {
+        long size = Files.size(input);
+        if (size % Integer.BYTES != 0) throw new IOException(input + " is not a whole number of ints");
+        // Input and output buffers come on top of the budget, so keep them small
+        int ioBufferBytes = (int) Math.max(MIN_BUFFER_BYTES, Math.min(budgetBytes / 8, 1 << 24)) & ~(Integer.BYTES - 1);
+        try (RunReader reader = new RunReader(input, allocate(ioBufferBytes));
+             FileSink sink = new FileSink(output, allocate(ioBufferBytes))) {
+            sort(buffer -> {
+                int n = 0;
+                while (n < buffer.length && reader.hasNext()) buffer[n++] = reader.next();
+                return n;
+            }, size / Integer.BYTES, sink);
+            lastStats.bytesRead += size;
+            lastStats.bytesWritten += size;
+        }
+    }
+
+    private void sort(RunSource source, long length, IntSink sink) throws IOException {
+        Stats stats = new Stats();
+        lastStats = stats;
+        Path dir = Files.createTempDirectory(tmpDir, "sorting-external-");
+        try {
+            // Stage 1 and 2: sorted runs of at most budget bytes each
+            int[] run = new int[(int) Math.min(length, Math.min(budgetBytes / Integer.BYTES, Integer.MAX_VALUE - 8))];
+            List<Path> runs = new ArrayList<>();
+            for (int n; run.length > 0 && (n = source.fill(run)) > 0; ) {
+                SortAlgorithms.checkCancelled();
+                int[] part = n == run.length ? run : Arrays.copyOf(run, n);
+                runSort.sort(part);
+                runs.add(spill(dir, part, stats));
+            }
+            stats.runs = runs.size();
+            run = null; // Let the run buffer go before the merge buffers are allocated
+
+            // Stage 3: merge down to one pass's worth of runs, then into the destination
+            int maxFanIn = (int) Math.max(2, Math.min(MAX_FAN_IN, budgetBytes / MIN_BUFFER_BYTES - 1));
+            while (runs.size() > maxFanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += maxFanIn) {
+                    SortAlgorithms.checkCancelled();
+                    List<Path> group = runs.subList(i, Math.min(i + maxFanIn, runs.size()));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    Path out = Files.createTempFile(dir, "merged-", ".ints");
+                    try (FileSink groupSink = new FileSink(out, buffer(group.size(), mergeBufferBytes(group.size())))) {
+                        merge(group, groupSink, stats);
+                    }
+                    stats.bytesWritten += Files.size(out);
+                    for (Path p : group) Files.delete(p);
+                    merged.add(out);
+                }
+                runs = merged;
+                stats.mergePasses++;
+            }
+            merge(runs, sink, stats);
+            stats.mergePasses++;
+        } finally {
+            deleteTree(dir);
+        }
+    }
+
+    // Writes a sorted run through a direct buffer in one bulk transfer per buffer fill
+    private Path spill(Path dir, int[] run, Stats stats) throws IOException {
+        Path file = Files.createTempFile(dir, "run-", ".ints");
+        ByteBuffer buffer = buffer(0, Math.min(run.length, 1 << 20) * Integer.BYTES);
+        IntBuffer ints = buffer.asIntBuffer();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            for (int off = 0; off < run.length; ) {
+                int n = Math.min(ints.capacity(), run.length - off);
+                ints.clear();
+                ints.put(run, off, n);
+                buffer.clear().limit(n * Integer.BYTES);
+                while (buffer.hasRemaining()) channel.write(buffer);
+                off += n;
+            }
+        }
+        stats.bytesWritten += (long) run.length * Integer.BYTES;
+        return file;
+    }
+
+    private int mergeBufferBytes(int runs) {
+        return (int) Math.max(MIN_BUFFER_BYTES, Math.min(budgetBytes / (runs + 1), 1 << 28)) & ~(Integer.BYTES - 1);
+    }
+
+    // Cached buffer for one slot (a run being read, or the spill/merge output), trimmed to bytes
+    private ByteBuffer buffer(int slot, int bytes) {
+        while (buffers.size() <= slot) buffers.add(null);
+        ByteBuffer cached = buffers.get(slot);
+        if (cached == null || cached.capacity() < bytes) {
+            cached = allocate(bytes);
+            buffers.set(slot, cached);
+        }
+        cached.clear().limit(bytes);
+        return cached.slice().order(ByteOrder.nativeOrder());
+    }
+
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    // Heap-based k-way merge; the heap holds run indices ordered by each run's current head
+    private void merge(List<Path> runs, IntSink sink, Stats stats) throws IOException {
+        int k = runs.size();
+        stats.fanIn = Math.max(stats.fanIn, k);
+        int bufferBytes = mergeBufferBytes(k);
+        RunReader[] readers = new RunReader[k];
+        try {
+            int[] heads = new int[k];
+            int[] heap = new int[k];
+            int size = 0;
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(runs.get(i), buffer(i, bufferBytes));
+                stats.bytesRead += Files.size(runs.get(i));
+                if (readers[i].hasNext()) {
+                    heads[i] = readers[i].next();
+                    heap[size++] = i;
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) siftDown(heap, heads, i, size);
+
+            while (size > 0) {
+                int top = heap[0];
+                sink.put(heads[top]);
+                if (readers[top].hasNext()) {
+                    heads[top] = readers[top].next();
+                } else {
+                    heap[0] = heap[--size];
+                }
+                siftDown(heap, heads, 0, size);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) reader.close();
+            }
+        }
+    }
+
+    private static void siftDown(int[] heap, int[] heads, int i, int size) {
+        int run = heap[i];
+        int value = heads[run];
+        int child;
+        while ((child = 2 * i + 1) < size) {
+            if (child + 1 < size && heads[heap[child + 1]] < heads[heap[child]]) child++;
+            if (heads[heap[child]] >= value) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = run;
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    // Fills the buffer with the next ints of the input; returns how many, 0 at the end
+    private interface RunSource { int fill(int[] buffer) throws IOException; }
+
+    private interface IntSink extends AutoCloseable {
+        void put(int value) throws IOException;
+        @Override void close() throws IOException;
+    }
+
+    // Sequential reader of raw ints through its own direct buffer
+    private static final class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunReader(Path file, ByteBuffer buffer) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.buffer = buffer;
+            buffer.flip(); // Empty until the first refill
+        }
+
+        boolean hasNext() throws IOException {
+            if (buffer.hasRemaining()) return true;
+            buffer.clear();
+            while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                // Keep reading until the buffer is full or the file ends
+            }
+            buffer.flip();
+            return buffer.hasRemaining();
+        }
+
+        int next() {
+            return buffer.getInt();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // Buffered writer of raw ints
+    private static final class FileSink implements IntSink {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        FileSink(Path file, ByteBuffer buffer) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void put(int value) throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            buffer.putInt(value);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            channel.close();
+        }
+    }
+}
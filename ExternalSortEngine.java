@@ -0,0 +1,35 @@
+// Import modules
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Table column for ExternalMergeSorter: every sort spills the input to temp files and merges
+// it back, so the timings include the disk traffic of a real out-of-core sort
+class ExternalSortEngine implements SortEngine {
+    // One sorter per benchmark thread, so cached buffers and statistics are never shared
+    private static final ThreadLocal<ExternalMergeSorter> SORTERS = ThreadLocal.withInitial(ExternalMergeSorter::new);
+
+    @Override public String getId() { return "externalMergeSort"; }
+    @Override public String getName() { return "External Merge"; }
+    @Override public int getColorRgb() { return 0x4682B4; }
+    @Override public boolean isQuadratic() { return false; }
+
+    @Override
+    public void sort(int[] a) {
+        try {
+            SORTERS.get().sort(a);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String getRunDetails() {
+        ExternalMergeSorter.Stats stats = SORTERS.get().getLastStats();
+        return stats == null ? null : stats.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
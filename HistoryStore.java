@@ -0,0 +1,311 @@
+// Import modules
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Append-only store of measured cells across launches. Each cell is one tab-separated line of
+// runs.log with its measured samples; environments.tsv holds the fingerprint of every environment
+// a run was taken on. runs.idx has one fixed-width record per log line (run id, key of the
+// distribution and size, offset, length), so a query reads the small index and then only the
+// matching lines, however long the history grows. A torn write is repaired on the next append:
+// complete log lines missing from the index are indexed, a partial last line is cut off.
+final class HistoryStore {
+    // Where history is kept, -Dsorting.historyDir (empty to keep none)
+    static final Path DEFAULT_DIR = defaultDir();
+
+    // run id, key, offset (longs) and length (int)
+    private static final int RECORD_BYTES = 3 * Long.BYTES + Integer.BYTES;
+
+    // One measured cell of a past run
+    static final class Entry {
+        final long runId;       // Start of the run, epoch ms; unique per run
+        final String environmentId;
+        final InputDistribution distribution;
+        final String algorithm; // SortEngine id
+        final long size;
+        final double[] samples; // Measured times in ms
+
+        Entry(long runId, String environmentId, InputDistribution distribution, String algorithm, long size,
+              double[] samples) {
+            this.runId = runId;
+            this.environmentId = environmentId;
+            this.distribution = distribution;
+            this.algorithm = algorithm;
+            this.size = size;
+            this.samples = samples;
+        }
+
+        TrialStats toStats() {
+            return TrialStats.of(samples, 0);
+        }
+    }
+
+    private final Path dir;
+    private final Path log;
+    private final Path index;
+    private final Path environments;
+
+    // In-memory copy of runs.idx, extended as the file grows
+    private long[] runIds = new long[0];
+    private long[] keys = new long[0];
+    private long[] offsets = new long[0];
+    private int[] lengths = new int[0];
+    private int count = 0;
+    private Map<String, EnvironmentFingerprint> knownEnvironments;
+
+    HistoryStore(Path dir) {
+        this.dir = dir;
+        this.log = dir.resolve("runs.log");
+        this.index = dir.resolve("runs.idx");
+        this.environments = dir.resolve("environments.tsv");
+    }
+
+    private static Path defaultDir() {
+        String dir = System.getProperty("sorting.historyDir",
+                Paths.get(System.getProperty("user.home"), ".sorting-visualizer", "history").toString());
+        return dir.trim().isEmpty() ? null : Paths.get(dir);
+    }
+
+    // The store in DEFAULT_DIR, or null if history is switched off
+    static HistoryStore openDefault() {
+        return DEFAULT_DIR == null ? null : new HistoryStore(DEFAULT_DIR);
+    }
+
+    Path getDir() { return dir; }
+
+    // Id for a new run: its start time, made unique against the runs already stored
+    synchronized long newRunId() throws IOException {
+        syncIndex();
+        long latest = 0;
+        for (int i = 0; i < count; i++) latest = Math.max(latest, runIds[i]);
+        return Math.max(System.currentTimeMillis(), latest + 1);
+    }
+
+    // Appends one measured cell, taken in the current environment. Safe against other
+    // processes appending to the same store.
+    @SuppressWarnings("try") // The file lock is held for the whole body, never referenced
+    synchronized void record(long runId, InputDistribution distribution, String algorithm, long size,
+                             TrialStats stats) throws IOException {
+        double[] samples = stats.getSamples();
+        if (samples.length == 0) return; // A summary without samples, e.g. from JMH
+        EnvironmentFingerprint environment = EnvironmentFingerprint.current();
+
+        StringBuilder line = new StringBuilder();
+        line.append(runId).append('\t').append(environment.getId()).append('\t').append(distribution.name())
+                .append('\t').append(algorithm).append('\t').append(size).append('\t');
+        for (int i = 0; i < samples.length; i++) {
+            if (i > 0) line.append(',');
+            line.append(samples[i]);
+        }
+        byte[] bytes = line.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+
+        Files.createDirectories(dir);
+        try (FileChannel logChannel = FileChannel.open(log, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+             FileLock lock = logChannel.lock()) {
+            rememberEnvironment(environment);
+            repair(logChannel);
+            long end = indexedEnd();
+            writeFully(logChannel, ByteBuffer.wrap(bytes), end);
+            logChannel.force(false);
+
+            ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+            record.putLong(runId).putLong(key(distribution, size)).putLong(end).putInt(bytes.length).flip();
+            try (FileChannel indexChannel = FileChannel.open(index, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                indexChannel.write(record);
+            }
+            add(runId, key(distribution, size), end, bytes.length);
+        }
+    }
+
+    // Cells of one distribution and size from the latest `maxRuns` runs other than `excludeRunId`,
+    // oldest run first. Only the index is scanned; just the matching lines are read.
+    synchronized List<Entry> loadLatest(InputDistribution distribution, long size, int maxRuns,
+                                        long excludeRunId) throws IOException {
+        syncIndex();
+        long key = key(distribution, size);
+        Set<Long> runs = new LinkedHashSet<>();
+        List<Integer> matches = new ArrayList<>();
+        for (int i = count - 1; i >= 0; i--) {
+            if (keys[i] != key || runIds[i] == excludeRunId) continue;
+            if (!runs.contains(runIds[i]) && runs.size() == maxRuns) break;
+            runs.add(runIds[i]);
+            matches.add(i);
+        }
+        Collections.reverse(matches);
+        List<Entry> entries = read(matches);
+        entries.removeIf(e -> e.distribution != distribution || e.size != size); // Key collisions
+        return entries;
+    }
+
+    // Every cell of one run, in the order it was recorded
+    synchronized List<Entry> loadRun(long runId) throws IOException {
+        syncIndex();
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (runIds[i] == runId) matches.add(i);
+        }
+        return read(matches);
+    }
+
+    // Ids of the stored runs, oldest first
+    synchronized long[] runIds() throws IOException {
+        syncIndex();
+        long[] ids = Arrays.stream(runIds, 0, count).filter(id -> id >= 0).distinct().toArray();
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    // The environment an entry was measured in, or null if it was never recorded
+    synchronized EnvironmentFingerprint environment(String id) throws IOException {
+        loadEnvironments();
+        if (!knownEnvironments.containsKey(id)) knownEnvironments = null; // Maybe added by another process
+        loadEnvironments();
+        return knownEnvironments.get(id);
+    }
+
+    private static long key(InputDistribution distribution, long size) {
+        return EnvironmentFingerprint.fnv1a(distribution.name() + "/" + size);
+    }
+
+    // Reads the index records added since the last call
+    private void syncIndex() throws IOException {
+        if (!Files.isRegularFile(index)) return;
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.READ)) {
+            long complete = channel.size() / RECORD_BYTES;
+            if (complete <= count) return;
+            ByteBuffer buffer = ByteBuffer.allocate((int) ((complete - count) * RECORD_BYTES));
+            readFully(channel, buffer, (long) count * RECORD_BYTES);
+            buffer.flip();
+            while (buffer.remaining() >= RECORD_BYTES) {
+                add(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getInt());
+            }
+        }
+    }
+
+    // Called under the log lock before an append: drops a torn index record, indexes complete
+    // log lines an interrupted append left without their record, and cuts off a torn last line
+    private void repair(FileChannel logChannel) throws IOException {
+        syncIndex();
+        try (FileChannel indexChannel = FileChannel.open(index, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (indexChannel.size() > (long) count * RECORD_BYTES) indexChannel.truncate((long) count * RECORD_BYTES);
+            long start = indexedEnd();
+            if (logChannel.size() <= start) return;
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) (logChannel.size() - start));
+            readFully(logChannel, buffer, start);
+            byte[] tail = buffer.array();
+            int from = 0;
+            for (int i = 0; i < tail.length; i++) {
+                if (tail[i] != '\n') continue;
+                // A line that does not parse is still indexed, under run id -1, so it is passed over
+                Entry entry = parse(new String(tail, from, i - from, StandardCharsets.UTF_8));
+                ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+                record.putLong(entry != null ? entry.runId : -1)
+                        .putLong(entry != null ? key(entry.distribution, entry.size) : 0)
+                        .putLong(start + from).putInt(i + 1 - from).flip();
+                writeFully(indexChannel, record, indexChannel.size());
+                add(record.getLong(0), record.getLong(8), record.getLong(16), record.getInt(24));
+                from = i + 1;
+            }
+        }
+        if (logChannel.size() > indexedEnd()) logChannel.truncate(indexedEnd());
+    }
+
+    // End of the last indexed log line
+    private long indexedEnd() {
+        return count == 0 ? 0 : offsets[count - 1] + lengths[count - 1];
+    }
+
+    private void add(long runId, long key, long offset, int length) {
+        if (count == runIds.length) {
+            int capacity = Math.max(64, count * 2);
+            runIds = Arrays.copyOf(runIds, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        runIds[count] = runId;
+        keys[count] = key;
+        offsets[count] = offset;
+        lengths[count] = length;
+        count++;
+    }
+
+    // Reads the log lines of the given index records; lines that no longer parse are skipped
+    private List<Entry> read(List<Integer> records) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        if (records.isEmpty()) return entries;
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            for (int i : records) {
+                ByteBuffer buffer = ByteBuffer.allocate(lengths[i]);
+                readFully(channel, buffer, offsets[i]);
+                Entry entry = parse(new String(buffer.array(), StandardCharsets.UTF_8).trim());
+                if (entry != null) entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    // run id, environment id, distribution, algorithm, size, comma-separated samples
+    private static Entry parse(String line) {
+        String[] parts = line.split("\t");
+        if (parts.length != 6) return null;
+        try {
+            String[] values = parts[5].split(",");
+            double[] samples = new double[values.length];
+            for (int i = 0; i < values.length; i++) samples[i] = Double.parseDouble(values[i]);
+            return new Entry(Long.parseLong(parts[0]), parts[1], InputDistribution.valueOf(parts[2]), parts[3],
+                    Long.parseLong(parts[4]), samples);
+        } catch (IllegalArgumentException e) {
+            return null; // Includes distributions that no longer exist
+        }
+    }
+
+    private void loadEnvironments() throws IOException {
+        if (knownEnvironments != null) return;
+        knownEnvironments = new HashMap<>();
+        if (!Files.isRegularFile(environments)) return;
+        for (String line : Files.readAllLines(environments, StandardCharsets.UTF_8)) {
+            EnvironmentFingerprint fingerprint = EnvironmentFingerprint.fromLine(line);
+            if (fingerprint != null) knownEnvironments.put(fingerprint.getId(), fingerprint);
+        }
+    }
+
+    // Adds the environment to environments.tsv the first time a run is recorded in it
+    private void rememberEnvironment(EnvironmentFingerprint environment) throws IOException {
+        knownEnvironments = null; // Another process may have added some
+        loadEnvironments();
+        if (knownEnvironments.containsKey(environment.getId())) return;
+        Files.write(environments, (environment.toLine() + "\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        knownEnvironments.put(environment.getId(), environment);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) throw new IOException("History file ended early");
+            position += n;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) position += channel.write(buffer, position);
+    }
+}
@@ -0,0 +1,152 @@
+// Import modules
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Input shapes for benchmarks and animations; every generator fills values in [min, max]
+enum InputDistribution {
+    RANDOM("Uniform Random"),
+    SORTED("Sorted"),
+    REVERSED("Reversed"),
+    PERTURBED("Nearly Sorted"),
+    FEW_UNIQUE("Few Unique"),
+    ORGAN_PIPE("Organ Pipe"),
+    SAWTOOTH("Sawtooth Runs"),
+    ZIPF("Zipf");
+
+    // Share of positions swapped at random in PERTURBED, -Dsorting.perturbPercent
+    static final int PERTURB_PERCENT = Integer.getInteger("sorting.perturbPercent", 5);
+    // Number of distinct keys in FEW_UNIQUE
+    static final int FEW_UNIQUE_KEYS = 16;
+    // Zipf exponent and the number of ranks the distribution is spread over
+    static final double ZIPF_EXPONENT = 1.1;
+    static final int ZIPF_MAX_RANKS = 1 << 16;
+    // Elements filled from one split-off generator; also the unit of parallel work
+    static final int CHUNK_SIZE = 1 << 16;
+
+    private final String name;
+
+    InputDistribution(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    // Generates n values in [min, max] with this distribution's shape. The same seed always
+    // gives the same array; large arrays are filled and sorted in parallel.
+    int[] generate(int n, int min, int max, long seed) {
+        SplittableRandom rand = new SplittableRandom(seed);
+        int[] a = new int[n];
+        switch (this) {
+            case RANDOM:
+                fillUniform(a, min, max, rand);
+                break;
+            case SORTED:
+                fillUniform(a, min, max, rand);
+                Arrays.parallelSort(a);
+                break;
+            case REVERSED:
+                fillUniform(a, min, max, rand);
+                Arrays.parallelSort(a);
+                reverse(a, 0, n);
+                break;
+            case PERTURBED:
+                fillUniform(a, min, max, rand);
+                Arrays.parallelSort(a);
+                for (long swaps = (long) n * PERTURB_PERCENT / 100; swaps > 0; swaps--) {
+                    swap(a, rand.nextInt(n), rand.nextInt(n));
+                }
+                break;
+            case FEW_UNIQUE: {
+                int[] keys = new int[FEW_UNIQUE_KEYS];
+                fillUniform(keys, min, max, rand);
+                fillChunks(n, rand, (from, to, r) -> {
+                    for (int i = from; i < to; i++) a[i] = keys[r.nextInt(keys.length)];
+                });
+                break;
+            }
+            case ORGAN_PIPE:
+                // Ascending first half, descending second half
+                fillUniform(a, min, max, rand);
+                Arrays.parallelSort(a, 0, n / 2);
+                Arrays.parallelSort(a, n / 2, n);
+                reverse(a, n / 2, n);
+                break;
+            case SAWTOOTH: {
+                // Ascending runs of about sqrt(n) elements each
+                fillUniform(a, min, max, rand);
+                int run = Math.max(2, (int) Math.sqrt(n));
+                IntStream.range(0, (n + run - 1) / run).parallel()
+                        .forEach(r -> Arrays.sort(a, r * run, Math.min(r * run + run, n)));
+                break;
+            }
+            case ZIPF:
+                fillZipf(a, min, max, rand);
+                break;
+        }
+        return a;
+    }
+
+    // Uniform values in [min, max]; the full int range is drawn directly
+    private static void fillUniform(int[] a, int min, int max, SplittableRandom rand) {
+        if (min == Integer.MIN_VALUE && max == Integer.MAX_VALUE) {
+            fillChunks(a.length, rand, (from, to, r) -> {
+                for (int i = from; i < to; i++) a[i] = r.nextInt();
+            });
+            return;
+        }
+        long range = (long) max - min + 1;
+        fillChunks(a.length, rand, (from, to, r) -> {
+            for (int i = from; i < to; i++) a[i] = (int) (min + r.nextLong(range));
+        });
+    }
+
+    // Rank k is drawn with probability proportional to 1/k^s and mapped to a random key,
+    // so the frequent keys are scattered over the value range rather than all small
+    private static void fillZipf(int[] a, int min, int max, SplittableRandom rand) {
+        int ranks = Math.max(1, Math.min(a.length, ZIPF_MAX_RANKS));
+        double[] cumulative = new double[ranks];
+        double sum = 0;
+        for (int k = 0; k < ranks; k++) {
+            sum += 1.0 / Math.pow(k + 1, ZIPF_EXPONENT);
+            cumulative[k] = sum;
+        }
+        int[] keys = new int[ranks];
+        fillUniform(keys, min, max, rand);
+
+        double total = sum;
+        fillChunks(a.length, rand, (from, to, r) -> {
+            for (int i = from; i < to; i++) {
+                int rank = Arrays.binarySearch(cumulative, r.nextDouble() * total);
+                if (rank < 0) rank = -rank - 1;
+                a[i] = keys[Math.min(rank, ranks - 1)];
+            }
+        });
+    }
+
+    // Fills [0, n) chunk by chunk, each chunk with its own generator split off in chunk order,
+    // so the result depends only on the seed and not on how the chunks are scheduled
+    private static void fillChunks(int n, SplittableRandom rand, ChunkFiller filler) {
+        int chunks = (int) (((long) n + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) streams[c] = rand.split();
+
+        IntStream indices = IntStream.range(0, chunks);
+        if (chunks > 1) indices = indices.parallel();
+        indices.forEach(c -> filler.fill(c * CHUNK_SIZE, (int) Math.min(n, (long) c * CHUNK_SIZE + CHUNK_SIZE),
+                streams[c]));
+    }
+
+    private interface ChunkFiller { void fill(int from, int to, SplittableRandom rand); }
+
+    private static void reverse(int[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) swap(a, i, j);
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int tmp = a[i]; a[i] = a[j]; a[j] = tmp;
+    }
+}
@@ -0,0 +1,86 @@
+// Import modules
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Reads the JSON written by "java org.openjdk.jmh.Main SortingJmhBenchmark -rf json"
+class JmhResultLoader {
+
+    // One benchmark score, already converted to milliseconds per operation
+    static final class Result {
+        final String algorithm;   // Benchmark method name, e.g. "mergeSort"
+        final int size;           // Value of the "size" @Param
+        final InputDistribution distribution; // Value of the "distribution" @Param, RANDOM if absent
+        final double scoreMs;     // Mean time per sort
+        final double errorMs;     // Half-width of the 99.9% confidence interval (NaN if unknown)
+
+        Result(String algorithm, int size, InputDistribution distribution, double scoreMs, double errorMs) {
+            this.algorithm = algorithm;
+            this.size = size;
+            this.distribution = distribution;
+            this.scoreMs = scoreMs;
+            this.errorMs = errorMs;
+        }
+    }
+
+    private JmhResultLoader() {}
+
+    // Loads every result in the file, ignoring benchmarks without a "size" parameter
+    @SuppressWarnings("unchecked")
+    static List<Result> load(Path file) throws IOException {
+        String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        Object root = JsonParser.parse(json);
+        if (!(root instanceof List)) {
+            throw new IOException("Expected a JSON array of JMH results");
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Object entry : (List<Object>) root) {
+            Map<String, Object> run = (Map<String, Object>) entry;
+            Map<String, Object> params = (Map<String, Object>) run.get("params");
+            Map<String, Object> metric = (Map<String, Object>) run.get("primaryMetric");
+            if (params == null || metric == null || !params.containsKey("size")) continue;
+
+            // Benchmark names are fully qualified, keep only the method name
+            String benchmark = (String) run.get("benchmark");
+            String algorithm = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+
+            int size = Integer.parseInt(String.valueOf(params.get("size")));
+            InputDistribution distribution = params.containsKey("distribution")
+                    ? InputDistribution.valueOf(String.valueOf(params.get("distribution")))
+                    : InputDistribution.RANDOM;
+            double factor = toMillisFactor((String) metric.get("scoreUnit"));
+            double score = toDouble(metric.get("score")) * factor;
+            double error = toDouble(metric.get("scoreError")) * factor;
+            results.add(new Result(algorithm, size, distribution, score, error));
+        }
+        return results;
+    }
+
+    // Converts JMH "x/op" units to a multiplier that yields milliseconds
+    private static double toMillisFactor(String unit) throws IOException {
+        if (unit == null) throw new IOException("Missing scoreUnit");
+        switch (unit) {
+            case "s/op": return 1_000.0;
+            case "ms/op": return 1.0;
+            case "us/op": return 0.001;
+            case "ns/op": return 0.000_001;
+            default: throw new IOException("Unsupported score unit " + unit + " (use -bm avgt)");
+        }
+    }
+
+    // JMH emits "NaN" as a string when an error cannot be computed
+    private static double toDouble(Object value) {
+        if (value instanceof Double) return (Double) value;
+        if (value == null) return Double.NaN;
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+// Import modules
+import java.util.Comparator;
+import java.util.List;
+
+// Element type a benchmark cell sorts. Every key type sorts the same generated int dataset,
+// converted in order-preserving fashion, so the cells of a row differ only in how their keys
+// are stored and compared: INT, LONG and DOUBLE run the primitive sorters, OBJECT sorts boxed
+// Integers with a Comparator, paying for the indirection and the comparator calls.
+enum KeyType {
+    INT("int[]", ""),
+    LONG("long[]", ":long"),
+    DOUBLE("double[]", ":double"),
+    OBJECT("Integer[] + Comparator", ":object");
+
+    // Equivalent comparators of distinct classes. OBJECT sorts take turns with the first
+    // -Dsorting.comparatorTypes of them, so the compare call sites in ObjectSortAlgorithms see
+    // several receiver types, as in an application that sorts many kinds of records. HotSpot
+    // stops inlining a call site beyond two, so the default of 3 measures the megamorphic case
+    // and 1 the monomorphic one.
+    private static final List<Comparator<Integer>> COMPARATORS = List.of(
+            Integer::compare,
+            Comparator.naturalOrder(),
+            Comparator.comparingInt(Integer::intValue),
+            (x, y) -> x < y ? -1 : x > y ? 1 : 0);
+    static final int COMPARATOR_TYPES =
+            Math.max(1, Math.min(COMPARATORS.size(), Integer.getInteger("sorting.comparatorTypes", 3)));
+
+    private final String name;
+    private final String historySuffix;
+
+    KeyType(String name, String historySuffix) {
+        this.name = name;
+        this.historySuffix = historySuffix;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    // True if the engine has a variant for these keys
+    boolean supports(SortEngine engine) {
+        switch (this) {
+            case LONG: return engine.getLongSorter() != null;
+            case DOUBLE: return engine.getDoubleSorter() != null;
+            case OBJECT: return engine.getObjectSorter() != null;
+            default: return true;
+        }
+    }
+
+    // Steady-state timing of the engine's variant on the dataset converted to these keys; the
+    // conversion is done once, before any clock starts
+    TrialStats time(TrialEngine trials, int[] dataset, SortEngine engine) {
+        if (!supports(engine)) throw new IllegalArgumentException(engine.getId() + " cannot sort " + this);
+        int n = dataset.length;
+        switch (this) {
+            case LONG: {
+                LongSortAlgorithms.Sorter sorter = engine.getLongSorter();
+                return trials.run(toLongs(dataset), n, long[]::clone, sorter::sort);
+            }
+            case DOUBLE: {
+                DoubleSortAlgorithms.Sorter sorter = engine.getDoubleSorter();
+                return trials.run(toDoubles(dataset), n, double[]::clone, sorter::sort);
+            }
+            case OBJECT: {
+                ObjectSortAlgorithms.Sorter sorter = engine.getObjectSorter();
+                int[] next = {0}; // Cells run on one thread, so no atomics are needed
+                return trials.run(box(dataset), n, Integer[]::clone,
+                        a -> sorter.sort(a, COMPARATORS.get(next[0]++ % COMPARATOR_TYPES)));
+            }
+            default:
+                return trials.run(dataset, engine);
+        }
+    }
+
+    // The value in the high half keeps the order and the duplicates, and a copy of it in the
+    // low half makes every 8-bit digit carry information for the radix sort
+    static long[] toLongs(int[] a) {
+        long[] keys = new long[a.length];
+        for (int i = 0; i < a.length; i++) keys[i] = (long) a[i] << 32 | (a[i] & 0xFFFFFFFFL);
+        return keys;
+    }
+
+    // Every int is exactly representable, so order and duplicates are kept
+    static double[] toDoubles(int[] a) {
+        double[] keys = new double[a.length];
+        for (int i = 0; i < a.length; i++) keys[i] = a[i];
+        return keys;
+    }
+
+    static Integer[] box(int[] a) {
+        Integer[] keys = new Integer[a.length];
+        for (int i = 0; i < a.length; i++) keys[i] = a[i];
+        return keys;
+    }
+
+    // Algorithm id a result is kept under in the history, e.g. "mergeSort:long"; INT keeps the
+    // plain engine id, and OBJECT records how many comparator types took turns
+    String historyId(String engineId) {
+        return engineId + historySuffix + (this == OBJECT ? COMPARATOR_TYPES : "");
+    }
+
+    // Engine id of a history id recorded with these keys, or null if it belongs to other keys
+    String engineIdOf(String historyId) {
+        if (this == INT) return historyId;
+        String suffix = historyId("");
+        return historyId.endsWith(suffix) ? historyId.substring(0, historyId.length() - suffix.length()) : null;
+    }
+}
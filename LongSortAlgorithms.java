@@ -0,0 +1,385 @@
+// Import modules
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// long[] copies of the SortAlgorithms sorters for the "long" key type. They follow the int[]
+// originals statement for statement, so a difference in the table is down to the key width.
+final class LongSortAlgorithms {
+    private LongSortAlgorithms() {}
+
+    // Sorts a in place into ascending order
+    interface Sorter { void sort(long[] a); }
+
+    // Bubble Sort
+    static void bubbleSort(long[] a) {
+        for (int i = 0; i < a.length - 1; i++) {
+            SortAlgorithms.checkCancelled();
+            boolean swapped = false;
+            for (int j = 0; j < a.length - i - 1; j++) {
+                if (a[j] > a[j + 1]) {
+                    long tmp = a[j]; a[j] = a[j + 1]; a[j + 1] = tmp;
+                    swapped = true;
+                }
+            }
+            if (!swapped) break;
+        }
+    }
+
+    // Selection Sort
+    static void selectionSort(long[] a) {
+        for (int i = 0; i < a.length - 1; i++) {
+            SortAlgorithms.checkCancelled();
+            int min = i;
+            for (int j = i + 1; j < a.length; j++) if (a[j] < a[min]) min = j;
+            long tmp = a[i]; a[i] = a[min]; a[min] = tmp;
+        }
+    }
+
+    // Insertion Sort
+    static void insertionSort(long[] a) {
+        for (int i = 1; i < a.length; i++) {
+            SortAlgorithms.checkCancelled();
+            long key = a[i];
+            int j = i - 1;
+            while (j >= 0 && a[j] > key) a[j + 1] = a[j--];
+            a[j + 1] = key;
+        }
+    }
+
+    // Merge Sort
+    static void mergeSort(long[] a) {
+        mergeSort(a, new long[a.length], 0, a.length - 1);
+    }
+
+    private static void mergeSort(long[] a, long[] tmp, int l, int r) {
+        if (l >= r) return;
+        int m = (l + r) / 2;
+        mergeSort(a, tmp, l, m);
+        mergeSort(a, tmp, m + 1, r);
+        merge(a, tmp, l, m, r);
+    }
+
+    private static void merge(long[] a, long[] tmp, int l, int m, int r) {
+        SortAlgorithms.checkCancelled();
+        int i = l, j = m + 1, k = l;
+        while (i <= m && j <= r) tmp[k++] = a[i] <= a[j] ? a[i++] : a[j++];
+        while (i <= m) tmp[k++] = a[i++];
+        while (j <= r) tmp[k++] = a[j++];
+        System.arraycopy(tmp, l, a, l, r - l + 1);
+    }
+
+    // Bottom-Up Merge Sort: insertion-sorted base runs, then iterative merging that
+    // alternates between the array and a scratch buffer instead of copying back
+    private static final ThreadLocal<long[]> MERGE_SCRATCH = new ThreadLocal<>();
+
+    // Uses a per-thread scratch buffer that only grows, so repeated trials do not allocate
+    static void bottomUpMergeSort(long[] a) {
+        long[] scratch = MERGE_SCRATCH.get();
+        if (scratch == null || scratch.length < a.length) {
+            scratch = new long[a.length];
+            MERGE_SCRATCH.set(scratch);
+        }
+        bottomUpMergeSort(a, scratch);
+    }
+
+    // Sorts a using the caller's scratch buffer, which must be at least a.length long
+    static void bottomUpMergeSort(long[] a, long[] scratch) {
+        int n = a.length;
+        if (scratch.length < n) throw new IllegalArgumentException("Scratch buffer shorter than input");
+
+        for (int lo = 0; lo < n; lo += SortAlgorithms.BOTTOM_UP_RUN) {
+            insertionSort(a, lo, Math.min(lo + SortAlgorithms.BOTTOM_UP_RUN, n) - 1);
+        }
+
+        long[] src = a, dst = scratch;
+        for (int width = SortAlgorithms.BOTTOM_UP_RUN; width < n; width *= 2) {
+            SortAlgorithms.checkCancelled();
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n), hi = Math.min(lo + 2 * width, n);
+                if (mid >= hi || src[mid - 1] <= src[mid]) {
+                    // Single run or runs already in order: no comparisons, just carry it over
+                    System.arraycopy(src, lo, dst, lo, hi - lo);
+                } else {
+                    mergeRuns(src, dst, lo, mid, hi);
+                }
+            }
+            long[] t = src; src = dst; dst = t;
+        }
+
+        // An odd number of levels leaves the result in the scratch buffer
+        if (src != a) System.arraycopy(src, 0, a, 0, n);
+    }
+
+    // Merges src[lo..mid) and src[mid..hi) into dst[lo..hi)
+    private static void mergeRuns(long[] src, long[] dst, int lo, int mid, int hi) {
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) dst[k++] = src[i] <= src[j] ? src[i++] : src[j++];
+        if (i < mid) System.arraycopy(src, i, dst, k, mid - i);
+        else System.arraycopy(src, j, dst, k, hi - j);
+    }
+
+    // Parallel Merge Sort (fork-join); subarrays at or below the cutoff are merge sorted sequentially
+    static void parallelMergeSort(long[] a) {
+        parallelMergeSort(a, SortAlgorithms.PARALLEL_MERGE_CUTOFF);
+    }
+
+    static void parallelMergeSort(long[] a, int cutoff) {
+        if (a.length < 2) return;
+        AtomicBoolean cancelled = new AtomicBoolean();
+        SortAlgorithms.invokeCancellable(new MergeSortTask(a, new long[a.length], 0, a.length - 1, Math.max(1, cutoff), cancelled),
+                cancelled);
+    }
+
+    private static final class MergeSortTask extends RecursiveAction {
+        private final long[] a, tmp;
+        private final int l, r, cutoff;
+        private final AtomicBoolean cancelled; // Raised when the cell is cancelled
+
+        MergeSortTask(long[] a, long[] tmp, int l, int r, int cutoff, AtomicBoolean cancelled) {
+            this.a = a; this.tmp = tmp; this.l = l; this.r = r; this.cutoff = cutoff; this.cancelled = cancelled;
+        }
+
+        @Override
+        protected void compute() {
+            SortAlgorithms.checkCancelled(cancelled);
+            if (r - l + 1 <= cutoff) {
+                mergeSort(a, tmp, l, r);
+                return;
+            }
+            int m = (l + r) / 2;
+            invokeAll(new MergeSortTask(a, tmp, l, m, cutoff, cancelled), new MergeSortTask(a, tmp, m + 1, r, cutoff, cancelled));
+            merge(a, tmp, l, m, r);
+        }
+    }
+
+    // Dual-pivot Introsort: Yaroslavskiy partitioning, heap sort once the depth limit is hit,
+    // insertion sort for short ranges
+    static void introSort(long[] a) {
+        if (a.length < 2) return;
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(a.length));
+        introSort(a, 0, a.length - 1, depthLimit);
+    }
+
+    private static void introSort(long[] a, int lo, int hi, int depth) {
+        while (hi - lo + 1 > SortAlgorithms.INTRO_INSERTION_CUTOFF) {
+            SortAlgorithms.checkCancelled();
+            if (depth-- == 0) {
+                heapSort(a, lo, hi);
+                return;
+            }
+
+            // Use the tertiles as pivots, smaller one at lo and larger one at hi
+            int third = (hi - lo) / 3;
+            swap(a, lo, lo + third);
+            swap(a, hi, hi - third);
+            if (a[lo] > a[hi]) swap(a, lo, hi);
+            long p = a[lo], q = a[hi];
+
+            // Partition into < p | p..q | > q
+            int lt = lo + 1, gt = hi - 1, k = lo + 1;
+            while (k <= gt) {
+                if (a[k] < p) {
+                    swap(a, k, lt++);
+                } else if (a[k] > q) {
+                    while (a[gt] > q && k < gt) gt--;
+                    swap(a, k, gt--);
+                    if (a[k] < p) swap(a, k, lt++);
+                }
+                k++;
+            }
+            swap(a, lo, --lt);
+            swap(a, hi, ++gt);
+
+            // Recurse into the left and middle parts, loop on the right part
+            introSort(a, lo, lt - 1, depth);
+            if (p != q) introSort(a, lt + 1, gt - 1, depth); // Middle is all equal when p == q
+            lo = gt + 1;
+        }
+        insertionSort(a, lo, hi);
+    }
+
+    // Insertion sort of a[lo..hi]
+    private static void insertionSort(long[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            long key = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j] > key) a[j + 1] = a[j--];
+            a[j + 1] = key;
+        }
+    }
+
+    // Heap sort of a[lo..hi] with an iterative sift-down
+    private static void heapSort(long[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) siftDown(a, lo, i, n);
+        for (int end = n - 1; end > 0; end--) {
+            SortAlgorithms.checkCancelled();
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] a, int base, int i, int n) {
+        long value = a[base + i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && a[base + child + 1] > a[base + child]) child++;
+            if (a[base + child] <= value) break;
+            a[base + i] = a[base + child];
+            i = child;
+        }
+        a[base + i] = value;
+    }
+
+    private static void swap(long[] a, int i, int j) {
+        long tmp = a[i]; a[i] = a[j]; a[j] = tmp;
+    }
+
+    // LSD Radix Sort with 8-bit digits over all 64 key bits, as RadixSorter; each benchmark
+    // thread reuses its own buffers across trials
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int PASSES = Long.SIZE / RADIX_BITS;
+    private static final ThreadLocal<RadixBuffers> RADIX_BUFFERS = ThreadLocal.withInitial(RadixBuffers::new);
+
+    private static final class RadixBuffers {
+        final int[][] counts = new int[PASSES][BUCKETS];
+        long[] scratch = new long[0];
+    }
+
+    static void radixSort(long[] a) {
+        int n = a.length;
+        if (n < 2) return;
+        RadixBuffers buffers = RADIX_BUFFERS.get();
+        if (buffers.scratch.length < n) buffers.scratch = new long[n];
+        int[][] counts = buffers.counts;
+
+        // Build every digit's histogram in one pass; the top digit has its sign bit
+        // flipped so negative numbers come before positive ones
+        for (int[] c : counts) Arrays.fill(c, 0);
+        for (int i = 0; i < n; i++) {
+            long key = a[i] ^ Long.MIN_VALUE;
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass][(int) (key >>> (pass * RADIX_BITS)) & (BUCKETS - 1)]++;
+            }
+        }
+
+        // Ping-pong between the input and the scratch buffer
+        long[] src = a, dst = buffers.scratch;
+        for (int pass = 0; pass < PASSES; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * RADIX_BITS;
+            SortAlgorithms.checkCancelled();
+
+            // Skip digits where every key falls into the same bucket
+            if (count[(int) ((src[0] ^ Long.MIN_VALUE) >>> shift) & (BUCKETS - 1)] == n) continue;
+
+            // Turn counts into starting offsets
+            int sum = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                int c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+
+            // Stable scatter into the destination buffer
+            for (int i = 0; i < n; i++) {
+                long v = src[i];
+                dst[count[(int) ((v ^ Long.MIN_VALUE) >>> shift) & (BUCKETS - 1)]++] = v;
+            }
+            long[] t = src; src = dst; dst = t;
+        }
+
+        // An odd number of performed passes leaves the result in the scratch buffer
+        if (src != a) System.arraycopy(src, 0, a, 0, n);
+    }
+
+    // Heap Sort
+    static void heapSort(long[] a) {
+        int n = a.length;
+        for (int i = n / 2 - 1; i >= 0; i--) heapify(a, n, i);
+        for (int i = n - 1; i > 0; i--) {
+            SortAlgorithms.checkCancelled();
+            long tmp = a[0]; a[0] = a[i]; a[i] = tmp;
+            heapify(a, i, 0);
+        }
+    }
+
+    private static void heapify(long[] a, int n, int i) {
+        int largest = i, l = 2 * i + 1, r = 2 * i + 2;
+        if (l < n && a[l] > a[largest]) largest = l;
+        if (r < n && a[r] > a[largest]) largest = r;
+        if (largest != i) {
+            long tmp = a[i]; a[i] = a[largest]; a[largest] = tmp;
+            heapify(a, n, largest);
+        }
+    }
+
+    // Heap Sort with an iterative sift-down that moves a hole instead of swapping
+    static void iterativeHeapSort(long[] a) {
+        if (a.length > 1) heapSort(a, 0, a.length - 1);
+    }
+
+    // Bottom-up (Floyd) Heap Sort: sift the hole to a leaf along the larger children with one
+    // comparison per level, then climb back up to where the value belongs
+    static void floydHeapSort(long[] a) {
+        int n = a.length;
+        for (int i = n / 2 - 1; i >= 0; i--) floydSiftDown(a, i, n, a[i]);
+        for (int end = n - 1; end > 0; end--) {
+            SortAlgorithms.checkCancelled();
+            long value = a[end];
+            a[end] = a[0];
+            floydSiftDown(a, 0, end, value);
+        }
+    }
+
+    // Places value into the heap a[0..n) starting from the hole at i
+    private static void floydSiftDown(long[] a, int i, int n, long value) {
+        int start = i, child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && a[child + 1] > a[child]) child++;
+            a[i] = a[child];
+            i = child;
+        }
+        int parent;
+        while (i > start && a[parent = (i - 1) / 2] < value) {
+            a[i] = a[parent];
+            i = parent;
+        }
+        a[i] = value;
+    }
+
+    // 4-ary Heap Sort: half the depth of a binary heap and the four children of a node
+    // share a cache line more often than not
+    static void quaternaryHeapSort(long[] a) {
+        int n = a.length;
+        if (n < 2) return;
+        for (int i = (n - 2) / 4; i >= 0; i--) quaternarySiftDown(a, i, n);
+        for (int end = n - 1; end > 0; end--) {
+            SortAlgorithms.checkCancelled();
+            swap(a, 0, end);
+            quaternarySiftDown(a, 0, end);
+        }
+    }
+
+    private static void quaternarySiftDown(long[] a, int i, int n) {
+        long value = a[i];
+        while (true) {
+            int first = 4 * i + 1;
+            if (first >= n) break;
+
+            // Pick the largest of up to four children
+            int largest = first;
+            int last = Math.min(first + 4, n);
+            for (int c = first + 1; c < last; c++) {
+                if (a[c] > a[largest]) largest = c;
+            }
+            if (a[largest] <= value) break;
+            a[i] = a[largest];
+            i = largest;
+        }
+        a[i] = value;
+    }
+}
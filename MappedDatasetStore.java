@@ -0,0 +1,118 @@
+// Import modules
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Benchmark inputs too large for the heap, kept as raw native-order int files that are
+// generated once and memory-mapped on every later run. Each measured sort works on a
+// mapped copy of the dataset, so the cached file itself is never modified.
+class MappedDatasetStore {
+    // Where datasets are kept between runs, -Dsorting.datasetDir
+    static final Path DEFAULT_DIR = Paths.get(System.getProperty("sorting.datasetDir",
+            Paths.get(System.getProperty("java.io.tmpdir"), "sorting-datasets").toString()));
+
+    private final Path dir;
+
+    MappedDatasetStore() {
+        this(DEFAULT_DIR);
+    }
+
+    MappedDatasetStore(Path dir) {
+        this.dir = dir;
+    }
+
+    // Only uniform input can be streamed straight to disk; the other shapes need the whole
+    // array on the heap to be sorted or reshuffled
+    static boolean supports(InputDistribution distribution) {
+        return distribution == InputDistribution.RANDOM;
+    }
+
+    // Returns the dataset file, writing it first if it is missing or has the wrong length
+    synchronized Path dataset(InputDistribution distribution, long size, long seed) throws IOException {
+        if (!supports(distribution)) {
+            throw new IllegalArgumentException(distribution + " datasets cannot be memory-mapped");
+        }
+        Path file = dir.resolve(distribution.name() + "-" + size + "-" + seed + ".ints");
+        if (Files.isRegularFile(file) && Files.size(file) == size * Integer.BYTES) return file;
+
+        // Written under a temporary name and moved into place, so an interrupted run never
+        // leaves a truncated dataset behind
+        Files.createDirectories(dir);
+        Path partial = Files.createTempFile(dir, file.getFileName().toString(), ".part");
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            fillUniform(MappedIntArray.map(channel, size, FileChannel.MapMode.READ_WRITE), seed);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+
+    // The same chunked SplittableRandom scheme as InputDistribution, so a mapped dataset holds
+    // the values the on-heap generator would give for the same seed
+    private static void fillUniform(MappedIntArray a, long seed) {
+        long n = a.length();
+        int chunkSize = InputDistribution.CHUNK_SIZE;
+        SplittableRandom rand = new SplittableRandom(seed);
+        int chunks = (int) ((n + chunkSize - 1) / chunkSize);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) streams[c] = rand.split();
+
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            long from = (long) c * chunkSize;
+            int len = (int) Math.min(chunkSize, n - from);
+            int[] values = new int[len];
+            for (int i = 0; i < len; i++) values[i] = streams[c].nextInt();
+            a.write(from, values, 0, len);
+        });
+    }
+
+    // Copies the dataset to a scratch file pair, then times only the sort
+    double timeSort(Path dataset, MappedSorts.Sorter sorter) throws IOException {
+        long size = Files.size(dataset) / Integer.BYTES;
+        Path work = Files.createTempFile(dir, "work-", ".ints");
+        Path scratch = Files.createTempFile(dir, "scratch-", ".ints");
+        try (FileChannel source = FileChannel.open(dataset, StandardOpenOption.READ);
+             FileChannel workChannel = FileChannel.open(work, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileChannel scratchChannel = FileChannel.open(scratch, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (long copied = 0, bytes = source.size(); copied < bytes; ) {
+                copied += source.transferTo(copied, bytes - copied, workChannel);
+            }
+            MappedIntArray a = MappedIntArray.map(workChannel, size, FileChannel.MapMode.READ_WRITE);
+            MappedIntArray tmp = MappedIntArray.map(scratchChannel, size, FileChannel.MapMode.READ_WRITE);
+
+            long start = System.nanoTime();
+            sorter.sort(a, tmp);
+            double ms = (System.nanoTime() - start) / 1_000_000.0;
+
+            if (!isSorted(a)) throw new IllegalStateException("Mapped sort left the data unsorted");
+            return ms;
+        } finally {
+            deleteQuietly(work);
+            deleteQuietly(scratch);
+        }
+    }
+
+    private static boolean isSorted(MappedIntArray a) {
+        for (long i = 1; i < a.length(); i++) {
+            if (a.get(i - 1) > a.get(i)) return false;
+        }
+        return true;
+    }
+
+    // Mapped files cannot be deleted on some platforms until the mapping is collected
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+}
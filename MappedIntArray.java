@@ -0,0 +1,68 @@
+// Import modules
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+// An int array backed by a memory-mapped file, indexed by long so it can exceed 2^31 elements.
+// A single MappedByteBuffer is limited to 2 GiB, so the file is mapped as a series of
+// 1 GiB chunks and a long index is split into (chunk, offset). Absolute get/set never
+// touch buffer positions, so threads may work on disjoint ranges concurrently.
+final class MappedIntArray {
+    private static final int CHUNK_SHIFT = 28;
+    static final int CHUNK_INTS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_INTS - 1;
+
+    private final IntBuffer[] chunks;
+    private final long length;
+
+    private MappedIntArray(IntBuffer[] chunks, long length) {
+        this.chunks = chunks;
+        this.length = length;
+    }
+
+    // Maps the first `length` ints of the channel; READ_WRITE grows the file if needed
+    static MappedIntArray map(FileChannel channel, long length, FileChannel.MapMode mode) throws IOException {
+        int count = (int) ((length + CHUNK_INTS - 1) >>> CHUNK_SHIFT);
+        IntBuffer[] chunks = new IntBuffer[count];
+        for (int c = 0; c < count; c++) {
+            long first = (long) c << CHUNK_SHIFT;
+            long ints = Math.min(CHUNK_INTS, length - first);
+            chunks[c] = channel.map(mode, first * Integer.BYTES, ints * Integer.BYTES)
+                    .order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+        return new MappedIntArray(chunks, length);
+    }
+
+    long length() {
+        return length;
+    }
+
+    int get(long i) {
+        return chunks[(int) (i >>> CHUNK_SHIFT)].get((int) i & CHUNK_MASK);
+    }
+
+    void set(long i, int value) {
+        chunks[(int) (i >>> CHUNK_SHIFT)].put((int) i & CHUNK_MASK, value);
+    }
+
+    // Bulk copy of [from, from + len) into dst[off..]; len may cross chunk boundaries
+    void read(long from, int[] dst, int off, int len) {
+        while (len > 0) {
+            int chunk = (int) (from >>> CHUNK_SHIFT), pos = (int) from & CHUNK_MASK;
+            int n = Math.min(len, CHUNK_INTS - pos);
+            chunks[chunk].get(pos, dst, off, n);
+            from += n; off += n; len -= n;
+        }
+    }
+
+    // Bulk copy of src[off..off + len) to [to, to + len)
+    void write(long to, int[] src, int off, int len) {
+        while (len > 0) {
+            int chunk = (int) (to >>> CHUNK_SHIFT), pos = (int) to & CHUNK_MASK;
+            int n = Math.min(len, CHUNK_INTS - pos);
+            chunks[chunk].put(pos, src, off, n);
+            to += n; off += n; len -= n;
+        }
+    }
+}
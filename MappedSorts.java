@@ -0,0 +1,158 @@
+// Import modules
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+// Variants of the fast sorters that work directly on memory-mapped files, for inputs that
+// do not fit comfortably in the heap. Each takes the data and a scratch array of the same
+// length; the scratch contents are undefined afterwards.
+final class MappedSorts {
+    private MappedSorts() {}
+
+    // Sorts a MappedIntArray in place, using scratch as working space
+    interface Sorter { void sort(MappedIntArray a, MappedIntArray scratch); }
+
+    // Elements sorted on the heap per block before the streaming merge passes (4 MiB)
+    static final int BLOCK = 1 << 20;
+
+    // Merge sort: blocks are loaded and sorted on the heap, then merged in sequential passes
+    // that ping-pong between the file and the scratch file
+    static void mergeSort(MappedIntArray a, MappedIntArray scratch) {
+        long n = a.length();
+        int[] block = new int[(int) Math.min(n, BLOCK)];
+        for (long lo = 0; lo < n; lo += BLOCK) {
+            SortAlgorithms.checkCancelled();
+            sortBlock(a, lo, Math.min(lo + BLOCK, n), block);
+        }
+        mergePasses(a, scratch, false);
+    }
+
+    // Same structure, with blocks sorted and each pass's merges run in parallel
+    static void parallelMergeSort(MappedIntArray a, MappedIntArray scratch) {
+        long n = a.length();
+        long blocks = (n + BLOCK - 1) / BLOCK;
+        ThreadLocal<int[]> buffers = ThreadLocal.withInitial(() -> new int[(int) Math.min(n, BLOCK)]);
+        LongStream.range(0, blocks).parallel()
+                .forEach(b -> sortBlock(a, b * BLOCK, Math.min(b * BLOCK + BLOCK, n), buffers.get()));
+        mergePasses(a, scratch, true);
+    }
+
+    private static void sortBlock(MappedIntArray a, long lo, long hi, int[] buffer) {
+        int len = (int) (hi - lo);
+        a.read(lo, buffer, 0, len);
+        int[] run = len == buffer.length ? buffer : Arrays.copyOf(buffer, len);
+        SortAlgorithms.bottomUpMergeSort(run);
+        a.write(lo, run, 0, len);
+    }
+
+    // Doubles the run width from BLOCK until one run remains, copying back on an odd pass count
+    private static void mergePasses(MappedIntArray a, MappedIntArray scratch, boolean parallel) {
+        long n = a.length();
+        MappedIntArray src = a, dst = scratch;
+        for (long width = BLOCK; width < n; width *= 2) {
+            SortAlgorithms.checkCancelled(); // Parallel passes run on pool threads, so only checked between passes
+            MappedIntArray from = src, to = dst;
+            long w = width;
+            LongStream pairs = LongStream.range(0, (n + 2 * w - 1) / (2 * w));
+            if (parallel) pairs = pairs.parallel();
+            pairs.forEach(p -> {
+                long lo = p * 2 * w;
+                merge(from, to, lo, Math.min(lo + w, n), Math.min(lo + 2 * w, n));
+            });
+            src = to;
+            dst = from;
+        }
+        if (src != a) copy(src, a, n);
+    }
+
+    private static void merge(MappedIntArray src, MappedIntArray dst, long lo, long mid, long hi) {
+        long i = lo, j = mid;
+        for (long k = lo; k < hi; k++) {
+            if (j >= hi || (i < mid && src.get(i) <= src.get(j))) dst.set(k, src.get(i++));
+            else dst.set(k, src.get(j++));
+        }
+    }
+
+    private static void copy(MappedIntArray src, MappedIntArray dst, long n) {
+        int[] buffer = new int[(int) Math.min(n, BLOCK)];
+        for (long pos = 0; pos < n; pos += BLOCK) {
+            int len = (int) Math.min(BLOCK, n - pos);
+            src.read(pos, buffer, 0, len);
+            dst.write(pos, buffer, 0, len);
+        }
+    }
+
+    // Iterative binary heap sort with long indices; needs no scratch space
+    static void heapSort(MappedIntArray a, MappedIntArray scratch) {
+        long n = a.length();
+        for (long i = n / 2 - 1; i >= 0; i--) siftDown(a, i, n);
+        for (long end = n - 1; end > 0; end--) {
+            SortAlgorithms.checkCancelled();
+            int top = a.get(0);
+            a.set(0, a.get(end));
+            a.set(end, top);
+            siftDown(a, 0, end);
+        }
+    }
+
+    private static void siftDown(MappedIntArray a, long i, long n) {
+        int value = a.get(i);
+        long child;
+        while ((child = 2 * i + 1) < n) {
+            int c = a.get(child);
+            if (child + 1 < n) {
+                int right = a.get(child + 1);
+                if (right > c) { child++; c = right; }
+            }
+            if (c <= value) break;
+            a.set(i, c);
+            i = child;
+        }
+        a.set(i, value);
+    }
+
+    // LSD radix sort with 8-bit digits, as RadixSorter but with long bucket offsets
+    static void radixSort(MappedIntArray a, MappedIntArray scratch) {
+        final int bits = 8, buckets = 1 << bits, passes = Integer.SIZE / bits;
+        long n = a.length();
+        if (n < 2) return;
+
+        long[][] counts = new long[passes][buckets];
+        int[] buffer = new int[(int) Math.min(n, BLOCK)];
+        for (long pos = 0; pos < n; pos += BLOCK) {
+            int len = (int) Math.min(BLOCK, n - pos);
+            a.read(pos, buffer, 0, len);
+            for (int i = 0; i < len; i++) {
+                int key = buffer[i] ^ Integer.MIN_VALUE;
+                for (int pass = 0; pass < passes; pass++) {
+                    counts[pass][(key >>> (pass * bits)) & (buckets - 1)]++;
+                }
+            }
+        }
+
+        MappedIntArray src = a, dst = scratch;
+        for (int pass = 0; pass < passes; pass++) {
+            long[] count = counts[pass];
+            int shift = pass * bits;
+            if (count[((src.get(0) ^ Integer.MIN_VALUE) >>> shift) & (buckets - 1)] == n) continue;
+
+            long sum = 0;
+            for (int b = 0; b < buckets; b++) {
+                long c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+            // Reads are sequential in blocks; writes go to 256 sequential streams
+            for (long pos = 0; pos < n; pos += BLOCK) {
+                SortAlgorithms.checkCancelled();
+                int len = (int) Math.min(BLOCK, n - pos);
+                src.read(pos, buffer, 0, len);
+                for (int i = 0; i < len; i++) {
+                    int v = buffer[i];
+                    dst.set(count[((v ^ Integer.MIN_VALUE) >>> shift) & (buckets - 1)]++, v);
+                }
+            }
+            MappedIntArray t = src; src = dst; dst = t;
+        }
+        if (src != a) copy(src, a, n);
+    }
+}
@@ -0,0 +1,326 @@
+// Import modules
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Generic copies of the SortAlgorithms sorters for the "object" key type: T[] ordered by a
+// Comparator, as application code sorts records. They follow the int[] originals statement for
+// statement with every < or > replaced by a compare call, so a difference in the table is the
+// cost of boxed elements and of calling the comparator. Radix sort has no counterpart, as a
+// comparator exposes no digits.
+final class ObjectSortAlgorithms {
+    private ObjectSortAlgorithms() {}
+
+    // Sorts a in place into the comparator's order
+    interface Sorter { <T> void sort(T[] a, Comparator<? super T> c); }
+
+    // Bubble Sort
+    static <T> void bubbleSort(T[] a, Comparator<? super T> c) {
+        for (int i = 0; i < a.length - 1; i++) {
+            SortAlgorithms.checkCancelled();
+            boolean swapped = false;
+            for (int j = 0; j < a.length - i - 1; j++) {
+                if (c.compare(a[j], a[j + 1]) > 0) {
+                    T tmp = a[j]; a[j] = a[j + 1]; a[j + 1] = tmp;
+                    swapped = true;
+                }
+            }
+            if (!swapped) break;
+        }
+    }
+
+    // Selection Sort
+    static <T> void selectionSort(T[] a, Comparator<? super T> c) {
+        for (int i = 0; i < a.length - 1; i++) {
+            SortAlgorithms.checkCancelled();
+            int min = i;
+            for (int j = i + 1; j < a.length; j++) if (c.compare(a[j], a[min]) < 0) min = j;
+            T tmp = a[i]; a[i] = a[min]; a[min] = tmp;
+        }
+    }
+
+    // Insertion Sort
+    static <T> void insertionSort(T[] a, Comparator<? super T> c) {
+        for (int i = 1; i < a.length; i++) {
+            SortAlgorithms.checkCancelled();
+            T key = a[i];
+            int j = i - 1;
+            while (j >= 0 && c.compare(a[j], key) > 0) a[j + 1] = a[j--];
+            a[j + 1] = key;
+        }
+    }
+
+    // Merge Sort
+    static <T> void mergeSort(T[] a, Comparator<? super T> c) {
+        mergeSort(a, new Object[a.length], 0, a.length - 1, c);
+    }
+
+    private static <T> void mergeSort(T[] a, Object[] tmp, int l, int r, Comparator<? super T> c) {
+        if (l >= r) return;
+        int m = (l + r) / 2;
+        mergeSort(a, tmp, l, m, c);
+        mergeSort(a, tmp, m + 1, r, c);
+        merge(a, tmp, l, m, r, c);
+    }
+
+    private static <T> void merge(T[] a, Object[] tmp, int l, int m, int r, Comparator<? super T> c) {
+        SortAlgorithms.checkCancelled();
+        int i = l, j = m + 1, k = l;
+        while (i <= m && j <= r) tmp[k++] = c.compare(a[i], a[j]) <= 0 ? a[i++] : a[j++];
+        while (i <= m) tmp[k++] = a[i++];
+        while (j <= r) tmp[k++] = a[j++];
+        System.arraycopy(tmp, l, a, l, r - l + 1);
+    }
+
+    // Bottom-Up Merge Sort: insertion-sorted base runs, then iterative merging that
+    // alternates between the array and a scratch buffer instead of copying back
+    private static final ThreadLocal<Object[]> MERGE_SCRATCH = new ThreadLocal<>();
+
+    // Uses a per-thread scratch buffer that only grows, so repeated trials do not allocate.
+    // The buffer is cleared afterwards so it keeps no sorted elements alive.
+    @SuppressWarnings("unchecked")
+    static <T> void bottomUpMergeSort(T[] a, Comparator<? super T> c) {
+        int n = a.length;
+        Object[] scratch = MERGE_SCRATCH.get();
+        if (scratch == null || scratch.length < n) {
+            scratch = new Object[n];
+            MERGE_SCRATCH.set(scratch);
+        }
+
+        for (int lo = 0; lo < n; lo += SortAlgorithms.BOTTOM_UP_RUN) {
+            insertionSort(a, lo, Math.min(lo + SortAlgorithms.BOTTOM_UP_RUN, n) - 1, c);
+        }
+
+        // Only ever read back as T, so viewing the scratch buffer as a T[] is safe
+        T[] src = a, dst = (T[]) scratch;
+        for (int width = SortAlgorithms.BOTTOM_UP_RUN; width < n; width *= 2) {
+            SortAlgorithms.checkCancelled();
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n), hi = Math.min(lo + 2 * width, n);
+                if (mid >= hi || c.compare(src[mid - 1], src[mid]) <= 0) {
+                    // Single run or runs already in order: no comparisons, just carry it over
+                    System.arraycopy(src, lo, dst, lo, hi - lo);
+                } else {
+                    mergeRuns(src, dst, lo, mid, hi, c);
+                }
+            }
+            T[] t = src; src = dst; dst = t;
+        }
+
+        // An odd number of levels leaves the result in the scratch buffer
+        if (src != a) System.arraycopy(src, 0, a, 0, n);
+        Arrays.fill(scratch, 0, n, null);
+    }
+
+    // Merges src[lo..mid) and src[mid..hi) into dst[lo..hi)
+    private static <T> void mergeRuns(T[] src, T[] dst, int lo, int mid, int hi, Comparator<? super T> c) {
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) dst[k++] = c.compare(src[i], src[j]) <= 0 ? src[i++] : src[j++];
+        if (i < mid) System.arraycopy(src, i, dst, k, mid - i);
+        else System.arraycopy(src, j, dst, k, hi - j);
+    }
+
+    // Parallel Merge Sort (fork-join); subarrays at or below the cutoff are merge sorted sequentially
+    static <T> void parallelMergeSort(T[] a, Comparator<? super T> c) {
+        if (a.length < 2) return;
+        AtomicBoolean cancelled = new AtomicBoolean();
+        SortAlgorithms.invokeCancellable(new MergeSortTask<>(a, new Object[a.length], 0, a.length - 1,
+                Math.max(1, SortAlgorithms.PARALLEL_MERGE_CUTOFF), c, cancelled), cancelled);
+    }
+
+    private static final class MergeSortTask<T> extends RecursiveAction {
+        private final T[] a;
+        private final Object[] tmp;
+        private final int l, r, cutoff;
+        private final Comparator<? super T> c;
+        private final AtomicBoolean cancelled; // Raised when the cell is cancelled
+
+        MergeSortTask(T[] a, Object[] tmp, int l, int r, int cutoff, Comparator<? super T> c, AtomicBoolean cancelled) {
+            this.a = a; this.tmp = tmp; this.l = l; this.r = r; this.cutoff = cutoff; this.c = c; this.cancelled = cancelled;
+        }
+
+        @Override
+        protected void compute() {
+            SortAlgorithms.checkCancelled(cancelled);
+            if (r - l + 1 <= cutoff) {
+                mergeSort(a, tmp, l, r, c);
+                return;
+            }
+            int m = (l + r) / 2;
+            invokeAll(new MergeSortTask<>(a, tmp, l, m, cutoff, c, cancelled), new MergeSortTask<>(a, tmp, m + 1, r, cutoff, c, cancelled));
+            merge(a, tmp, l, m, r, c);
+        }
+    }
+
+    // Dual-pivot Introsort: Yaroslavskiy partitioning, heap sort once the depth limit is hit,
+    // insertion sort for short ranges
+    static <T> void introSort(T[] a, Comparator<? super T> c) {
+        if (a.length < 2) return;
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(a.length));
+        introSort(a, 0, a.length - 1, depthLimit, c);
+    }
+
+    private static <T> void introSort(T[] a, int lo, int hi, int depth, Comparator<? super T> c) {
+        while (hi - lo + 1 > SortAlgorithms.INTRO_INSERTION_CUTOFF) {
+            SortAlgorithms.checkCancelled();
+            if (depth-- == 0) {
+                heapSort(a, lo, hi, c);
+                return;
+            }
+
+            // Use the tertiles as pivots, smaller one at lo and larger one at hi
+            int third = (hi - lo) / 3;
+            swap(a, lo, lo + third);
+            swap(a, hi, hi - third);
+            if (c.compare(a[lo], a[hi]) > 0) swap(a, lo, hi);
+            T p = a[lo], q = a[hi];
+
+            // Partition into < p | p..q | > q
+            int lt = lo + 1, gt = hi - 1, k = lo + 1;
+            while (k <= gt) {
+                if (c.compare(a[k], p) < 0) {
+                    swap(a, k, lt++);
+                } else if (c.compare(a[k], q) > 0) {
+                    while (c.compare(a[gt], q) > 0 && k < gt) gt--;
+                    swap(a, k, gt--);
+                    if (c.compare(a[k], p) < 0) swap(a, k, lt++);
+                }
+                k++;
+            }
+            swap(a, lo, --lt);
+            swap(a, hi, ++gt);
+
+            // Recurse into the left and middle parts, loop on the right part
+            introSort(a, lo, lt - 1, depth, c);
+            if (c.compare(p, q) != 0) introSort(a, lt + 1, gt - 1, depth, c); // Middle is all equal when p == q
+            lo = gt + 1;
+        }
+        insertionSort(a, lo, hi, c);
+    }
+
+    // Insertion sort of a[lo..hi]
+    private static <T> void insertionSort(T[] a, int lo, int hi, Comparator<? super T> c) {
+        for (int i = lo + 1; i <= hi; i++) {
+            T key = a[i];
+            int j = i - 1;
+            while (j >= lo && c.compare(a[j], key) > 0) a[j + 1] = a[j--];
+            a[j + 1] = key;
+        }
+    }
+
+    // Heap sort of a[lo..hi] with an iterative sift-down
+    private static <T> void heapSort(T[] a, int lo, int hi, Comparator<? super T> c) {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) siftDown(a, lo, i, n, c);
+        for (int end = n - 1; end > 0; end--) {
+            SortAlgorithms.checkCancelled();
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end, c);
+        }
+    }
+
+    private static <T> void siftDown(T[] a, int base, int i, int n, Comparator<? super T> c) {
+        T value = a[base + i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && c.compare(a[base + child + 1], a[base + child]) > 0) child++;
+            if (c.compare(a[base + child], value) <= 0) break;
+            a[base + i] = a[base + child];
+            i = child;
+        }
+        a[base + i] = value;
+    }
+
+    private static void swap(Object[] a, int i, int j) {
+        Object tmp = a[i]; a[i] = a[j]; a[j] = tmp;
+    }
+
+    // Heap Sort
+    static <T> void heapSort(T[] a, Comparator<? super T> c) {
+        int n = a.length;
+        for (int i = n / 2 - 1; i >= 0; i--) heapify(a, n, i, c);
+        for (int i = n - 1; i > 0; i--) {
+            SortAlgorithms.checkCancelled();
+            T tmp = a[0]; a[0] = a[i]; a[i] = tmp;
+            heapify(a, i, 0, c);
+        }
+    }
+
+    private static <T> void heapify(T[] a, int n, int i, Comparator<? super T> c) {
+        int largest = i, l = 2 * i + 1, r = 2 * i + 2;
+        if (l < n && c.compare(a[l], a[largest]) > 0) largest = l;
+        if (r < n && c.compare(a[r], a[largest]) > 0) largest = r;
+        if (largest != i) {
+            T tmp = a[i]; a[i] = a[largest]; a[largest] = tmp;
+            heapify(a, n, largest, c);
+        }
+    }
+
+    // Heap Sort with an iterative sift-down that moves a hole instead of swapping
+    static <T> void iterativeHeapSort(T[] a, Comparator<? super T> c) {
+        if (a.length > 1) heapSort(a, 0, a.length - 1, c);
+    }
+
+    // Bottom-up (Floyd) Heap Sort: sift the hole to a leaf along the larger children with one
+    // comparison per level, then climb back up to where the value belongs
+    static <T> void floydHeapSort(T[] a, Comparator<? super T> c) {
+        int n = a.length;
+        for (int i = n / 2 - 1; i >= 0; i--) floydSiftDown(a, i, n, a[i], c);
+        for (int end = n - 1; end > 0; end--) {
+            SortAlgorithms.checkCancelled();
+            T value = a[end];
+            a[end] = a[0];
+            floydSiftDown(a, 0, end, value, c);
+        }
+    }
+
+    // Places value into the heap a[0..n) starting from the hole at i
+    private static <T> void floydSiftDown(T[] a, int i, int n, T value, Comparator<? super T> c) {
+        int start = i, child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && c.compare(a[child + 1], a[child]) > 0) child++;
+            a[i] = a[child];
+            i = child;
+        }
+        int parent;
+        while (i > start && c.compare(a[parent = (i - 1) / 2], value) < 0) {
+            a[i] = a[parent];
+            i = parent;
+        }
+        a[i] = value;
+    }
+
+    // 4-ary Heap Sort: half the depth of a binary heap and the four children of a node
+    // share a cache line more often than not
+    static <T> void quaternaryHeapSort(T[] a, Comparator<? super T> c) {
+        int n = a.length;
+        if (n < 2) return;
+        for (int i = (n - 2) / 4; i >= 0; i--) quaternarySiftDown(a, i, n, c);
+        for (int end = n - 1; end > 0; end--) {
+            SortAlgorithms.checkCancelled();
+            swap(a, 0, end);
+            quaternarySiftDown(a, 0, end, c);
+        }
+    }
+
+    private static <T> void quaternarySiftDown(T[] a, int i, int n, Comparator<? super T> c) {
+        T value = a[i];
+        while (true) {
+            int first = 4 * i + 1;
+            if (first >= n) break;
+
+            // Pick the largest of up to four children
+            int largest = first;
+            int last = Math.min(first + 4, n);
+            for (int k = first + 1; k < last; k++) {
+                if (c.compare(a[k], a[largest]) > 0) largest = k;
+            }
+            if (c.compare(a[largest], value) <= 0) break;
+            a[i] = a[largest];
+            i = largest;
+        }
+        a[i] = value;
+    }
+}
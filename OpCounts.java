@@ -0,0 +1,31 @@
+// Operation counts of one instrumented sort. A swap also counts its two reads and two writes;
+// a bulk copy counts one read and one write per element.
+final class OpCounts {
+    long comparisons;
+    long swaps;
+    long reads;
+    long writes;
+    final int n;
+
+    OpCounts(int n) {
+        this.n = n;
+    }
+
+    // Metrics in the order used by the table and the graph's metric selector
+    static final String[] METRIC_NAMES = {"Comparisons", "Swaps", "Reads", "Writes"};
+
+    long get(int metric) {
+        switch (metric) {
+            case 0: return comparisons;
+            case 1: return swaps;
+            case 2: return reads;
+            default: return writes;
+        }
+    }
+
+    // Count divided by n log2 n, the order of the comparison-sort lower bound
+    double perNLogN(int metric) {
+        if (n < 2) return 0;
+        return get(metric) / (n * (Math.log(n) / Math.log(2)));
+    }
+}
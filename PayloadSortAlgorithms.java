@@ -0,0 +1,214 @@
+// Import modules
+import java.util.Arrays;
+import java.util.Comparator;
+
+// Sorts that carry a payload: the keys are sorted in place and every move is applied to a
+// parallel int[] as well, e.g. the row numbers of a table sorted by one column. No pair objects
+// are made; the two arrays move in lockstep. Argsort is built on the same sorters: the keys are
+// copied and sorted with their indices as the payload, so each comparison reads a key from one
+// sequential array instead of following an index into the original.
+final class PayloadSortAlgorithms {
+    private PayloadSortAlgorithms() {}
+
+    // Sorts keys in place and moves payload[i] wherever keys[i] goes
+    interface Sorter { void sort(int[] keys, int[] payload); }
+
+    // Permutation that sorts keys, keys[perm[0]] <= keys[perm[1]] <= ...; keys are not modified.
+    // Ties keep their index order with the merge and radix sorters.
+    static int[] argsort(int[] keys, Sorter sorter) {
+        int[] perm = identity(keys.length);
+        sorter.sort(keys.clone(), perm);
+        return perm;
+    }
+
+    // The usual argsort the one above is measured against: boxed indices, and a comparator that
+    // looks each key up through its index
+    static Integer[] boxedArgsort(int[] keys) {
+        Integer[] perm = new Integer[keys.length];
+        for (int i = 0; i < perm.length; i++) perm[i] = i;
+        Arrays.sort(perm, Comparator.comparingInt(i -> keys[i]));
+        return perm;
+    }
+
+    static int[] identity(int n) {
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        return perm;
+    }
+
+    // Behind the table columns, which must leave their input sorted like every engine's sort.
+    // The payload of sortWithRowIds is the row numbers, refilled on each call in a per-thread buffer.
+    private static final ThreadLocal<int[]> ROW_IDS = ThreadLocal.withInitial(() -> new int[0]);
+
+    static void sortWithRowIds(int[] a, Sorter sorter) {
+        int[] rows = ROW_IDS.get();
+        if (rows.length != a.length) {
+            rows = new int[a.length];
+            ROW_IDS.set(rows);
+        }
+        for (int i = 0; i < rows.length; i++) rows[i] = i;
+        sorter.sort(a, rows);
+    }
+
+    // Argsort, then read the keys through the permutation back into a, as a caller would gather
+    // a column; the boxed variant does the same with its Integer[] permutation
+    static void argsortAndGather(int[] a, Sorter sorter) {
+        int[] perm = argsort(a, sorter);
+        int[] sorted = new int[a.length];
+        for (int i = 0; i < sorted.length; i++) sorted[i] = a[perm[i]];
+        System.arraycopy(sorted, 0, a, 0, a.length);
+    }
+
+    static void boxedArgsortAndGather(int[] a) {
+        Integer[] perm = boxedArgsort(a);
+        int[] sorted = new int[a.length];
+        for (int i = 0; i < sorted.length; i++) sorted[i] = a[perm[i]];
+        System.arraycopy(sorted, 0, a, 0, a.length);
+    }
+
+    private static void checkLengths(int[] keys, int[] payload) {
+        if (payload.length != keys.length) throw new IllegalArgumentException("Payload length differs from key length");
+    }
+
+    // Merge Sort, as SortAlgorithms.mergeSort
+    static void mergeSort(int[] keys, int[] payload) {
+        checkLengths(keys, payload);
+        int n = keys.length;
+        mergeSort(keys, payload, new int[n], new int[n], 0, n - 1);
+    }
+
+    private static void mergeSort(int[] a, int[] p, int[] tmpA, int[] tmpP, int l, int r) {
+        if (l >= r) return;
+        int m = (l + r) / 2;
+        mergeSort(a, p, tmpA, tmpP, l, m);
+        mergeSort(a, p, tmpA, tmpP, m + 1, r);
+        merge(a, p, tmpA, tmpP, l, m, r);
+    }
+
+    private static void merge(int[] a, int[] p, int[] tmpA, int[] tmpP, int l, int m, int r) {
+        SortAlgorithms.checkCancelled();
+        int i = l, j = m + 1, k = l;
+        while (i <= m && j <= r) {
+            if (a[i] <= a[j]) {
+                tmpA[k] = a[i];
+                tmpP[k++] = p[i++];
+            } else {
+                tmpA[k] = a[j];
+                tmpP[k++] = p[j++];
+            }
+        }
+        while (i <= m) {
+            tmpA[k] = a[i];
+            tmpP[k++] = p[i++];
+        }
+        while (j <= r) {
+            tmpA[k] = a[j];
+            tmpP[k++] = p[j++];
+        }
+        System.arraycopy(tmpA, l, a, l, r - l + 1);
+        System.arraycopy(tmpP, l, p, l, r - l + 1);
+    }
+
+    // Heap Sort with an iterative sift-down that moves a hole, carrying the payload along
+    static void heapSort(int[] keys, int[] payload) {
+        checkLengths(keys, payload);
+        int n = keys.length;
+        for (int i = n / 2 - 1; i >= 0; i--) siftDown(keys, payload, i, n);
+        for (int end = n - 1; end > 0; end--) {
+            SortAlgorithms.checkCancelled();
+            swap(keys, 0, end);
+            swap(payload, 0, end);
+            siftDown(keys, payload, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] a, int[] p, int i, int n) {
+        int value = a[i], carried = p[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && a[child + 1] > a[child]) child++;
+            if (a[child] <= value) break;
+            a[i] = a[child];
+            p[i] = p[child];
+            i = child;
+        }
+        a[i] = value;
+        p[i] = carried;
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int tmp = a[i]; a[i] = a[j]; a[j] = tmp;
+    }
+
+    // LSD Radix Sort with 8-bit digits, as RadixSorter; each scatter moves the key and its
+    // payload. Each benchmark thread reuses its own buffers across trials.
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int PASSES = Integer.SIZE / RADIX_BITS;
+    private static final ThreadLocal<RadixBuffers> RADIX_BUFFERS = ThreadLocal.withInitial(RadixBuffers::new);
+
+    private static final class RadixBuffers {
+        final int[][] counts = new int[PASSES][BUCKETS];
+        int[] keys = new int[0];
+        int[] payload = new int[0];
+    }
+
+    static void radixSort(int[] keys, int[] payload) {
+        checkLengths(keys, payload);
+        int n = keys.length;
+        if (n < 2) return;
+        RadixBuffers buffers = RADIX_BUFFERS.get();
+        if (buffers.keys.length < n) {
+            buffers.keys = new int[n];
+            buffers.payload = new int[n];
+        }
+        int[][] counts = buffers.counts;
+
+        // Build every digit's histogram in one pass; the top digit has its sign bit
+        // flipped so negative numbers come before positive ones
+        for (int[] c : counts) Arrays.fill(c, 0);
+        for (int i = 0; i < n; i++) {
+            int key = keys[i] ^ Integer.MIN_VALUE;
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass][(key >>> (pass * RADIX_BITS)) & (BUCKETS - 1)]++;
+            }
+        }
+
+        // Ping-pong both arrays between the input and the scratch buffers
+        int[] src = keys, dst = buffers.keys;
+        int[] srcP = payload, dstP = buffers.payload;
+        for (int pass = 0; pass < PASSES; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * RADIX_BITS;
+            SortAlgorithms.checkCancelled();
+
+            // Skip digits where every key falls into the same bucket
+            if (count[(src[0] ^ Integer.MIN_VALUE) >>> shift & (BUCKETS - 1)] == n) continue;
+
+            // Turn counts into starting offsets
+            int sum = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                int c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+
+            // Stable scatter into the destination buffers
+            for (int i = 0; i < n; i++) {
+                int v = src[i];
+                int to = count[((v ^ Integer.MIN_VALUE) >>> shift) & (BUCKETS - 1)]++;
+                dst[to] = v;
+                dstP[to] = srcP[i];
+            }
+            int[] t = src; src = dst; dst = t;
+            t = srcP; srcP = dstP; dstP = t;
+        }
+
+        // An odd number of performed passes leaves the result in the scratch buffers
+        if (src != keys) {
+            System.arraycopy(src, 0, keys, 0, n);
+            System.arraycopy(srcP, 0, payload, 0, n);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+// Runtime predicted for a cell that was not run because it would exceed the cell time budget.
+// Extrapolated from the largest measured sizes of the same column as t(n) = t1 * (n / n1)^b.
+final class ProjectedTime {
+    private final double ms;         // Predicted time of a single sort
+    private final double exponent;   // Growth exponent b used for the extrapolation
+
+    ProjectedTime(double ms, double exponent) {
+        this.ms = ms;
+        this.exponent = exponent;
+    }
+
+    // Extrapolates to `size` from the largest measured size (hiSize, hiMs) and, if loSize > 0, the
+    // next one below it. The fitted exponent never drops below the nominal one (2 for O(n^2),
+    // else 1), since timings of small arrays are flattened by fixed overheads.
+    static ProjectedTime extrapolate(long hiSize, double hiMs, long loSize, double loMs, long size,
+                                     double nominalExponent) {
+        double exponent = nominalExponent;
+        if (loSize > 0) {
+            double fitted = Math.log(hiMs / loMs) / Math.log((double) hiSize / loSize);
+            if (fitted > exponent) exponent = fitted; // NaN (zero times) keeps the nominal exponent
+        }
+        return new ProjectedTime(hiMs * Math.pow((double) size / hiSize, exponent), exponent);
+    }
+
+    public double getMs() { return ms; }
+    public double getExponent() { return exponent; }
+}
@@ -0,0 +1,61 @@
+// Import modules
+import java.util.Arrays;
+
+// LSD radix sort for int[] with 8-bit digits.
+// The scratch buffer and histograms are kept between calls, so once the buffer has grown
+// to the largest input, repeated sorts allocate nothing. Instances are not thread-safe;
+// SortAlgorithms.RADIX_SORTERS keeps one per thread.
+class RadixSorter {
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int PASSES = Integer.SIZE / RADIX_BITS;
+
+    // One histogram per digit, all filled in a single read of the input
+    private final int[][] counts = new int[PASSES][BUCKETS];
+    private int[] scratch = new int[0];
+
+    public void sort(int[] a) {
+        int n = a.length;
+        if (n < 2) return;
+        if (scratch.length < n) scratch = new int[n];
+
+        // Build every digit's histogram in one pass; the top digit has its sign bit
+        // flipped so negative numbers come before positive ones
+        for (int[] c : counts) Arrays.fill(c, 0);
+        for (int i = 0; i < n; i++) {
+            int key = a[i] ^ Integer.MIN_VALUE;
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass][(key >>> (pass * RADIX_BITS)) & (BUCKETS - 1)]++;
+            }
+        }
+
+        // Ping-pong between the input and the scratch buffer
+        int[] src = a, dst = scratch;
+        for (int pass = 0; pass < PASSES; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * RADIX_BITS;
+            SortAlgorithms.checkCancelled();
+
+            // Skip digits where every key falls into the same bucket
+            if (count[(src[0] ^ Integer.MIN_VALUE) >>> shift & (BUCKETS - 1)] == n) continue;
+
+            // Turn counts into starting offsets
+            int sum = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                int c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+
+            // Stable scatter into the destination buffer
+            for (int i = 0; i < n; i++) {
+                int v = src[i];
+                dst[count[((v ^ Integer.MIN_VALUE) >>> shift) & (BUCKETS - 1)]++] = v;
+            }
+            int[] t = src; src = dst; dst = t;
+        }
+
+        // An odd number of performed passes leaves the result in the scratch buffer
+        if (src != a) System.arraycopy(src, 0, a, 0, n);
+    }
+}
@@ -0,0 +1,288 @@
+// Import modules
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Decides per (distribution, algorithm, size) cell whether a candidate run is slower than a
+// stored baseline run. A cell regressed when a one-sided Mann-Whitney U test on the trial samples
+// is significant after a Bonferroni correction over all baseline cells, and the Hodges-Lehmann
+// shift (the median of all candidate-minus-baseline differences) is at least the threshold share
+// of the baseline median. Both must still hold with the candidate's slowest trial left out, so a
+// single noisy sample can never fail a cell; cells with too few samples to ever reach
+// significance that way are reported as inconclusive.
+final class RegressionGate {
+    // Family-wise false alarm rate over all cells, -Dsorting.regressionAlpha
+    static final double DEFAULT_ALPHA = Double.parseDouble(System.getProperty("sorting.regressionAlpha", "0.05"));
+    // Smallest slowdown worth failing on, as a share of the baseline median, -Dsorting.regressionThreshold
+    static final double DEFAULT_THRESHOLD = Double.parseDouble(System.getProperty("sorting.regressionThreshold", "0.03"));
+    // Largest n1 * n2 for which the exact null distribution of U is computed
+    private static final int EXACT_LIMIT = 2500;
+
+    enum Outcome { REGRESSED, IMPROVED, UNCHANGED, INCONCLUSIVE }
+
+    // Outcome of one cell
+    static final class Verdict {
+        final InputDistribution distribution;
+        final String algorithm;
+        final long size;
+        final int baselineTrials;
+        final int candidateTrials;
+        final double baselineMedian;
+        final double candidateMedian;
+        final double shift;        // Hodges-Lehmann shift relative to the baseline median, e.g. 0.05 = 5% slower
+        final double pSlower;      // One-sided p-value for "candidate is slower"
+        final double pFaster;      // One-sided p-value for "candidate is faster"
+        final Outcome outcome;
+
+        Verdict(InputDistribution distribution, String algorithm, long size, int baselineTrials,
+                int candidateTrials, double baselineMedian, double candidateMedian, double shift,
+                double pSlower, double pFaster, Outcome outcome) {
+            this.distribution = distribution;
+            this.algorithm = algorithm;
+            this.size = size;
+            this.baselineTrials = baselineTrials;
+            this.candidateTrials = candidateTrials;
+            this.baselineMedian = baselineMedian;
+            this.candidateMedian = candidateMedian;
+            this.shift = shift;
+            this.pSlower = pSlower;
+            this.pFaster = pFaster;
+            this.outcome = outcome;
+        }
+
+        // One line of the report
+        String describe() {
+            return String.format(Locale.ROOT, "%-12s %-12s %-22s %,14d  %10.4f -> %10.4f ms  %+6.1f%%  p=%.2g (%d vs %d trials)",
+                    outcome, distribution.name(), algorithm, size, baselineMedian, candidateMedian, 100 * shift,
+                    shift >= 0 ? pSlower : pFaster, baselineTrials, candidateTrials);
+        }
+    }
+
+    private final Map<String, double[]> baseline = new HashMap<>();
+    private final double alpha;
+    private final double threshold;
+
+    RegressionGate(List<HistoryStore.Entry> baselineRun) {
+        this(baselineRun, DEFAULT_ALPHA, DEFAULT_THRESHOLD);
+    }
+
+    // A cell recorded more than once in the baseline run (e.g. after a re-run) uses its last entry
+    RegressionGate(List<HistoryStore.Entry> baselineRun, double alpha, double threshold) {
+        for (HistoryStore.Entry entry : baselineRun) {
+            baseline.put(key(entry.distribution, entry.algorithm, entry.size), entry.samples);
+        }
+        this.alpha = alpha;
+        this.threshold = threshold;
+    }
+
+    private static String key(InputDistribution distribution, String algorithm, long size) {
+        return distribution.name() + "/" + algorithm + "/" + size;
+    }
+
+    int getBaselineCells() { return baseline.size(); }
+    double getThreshold() { return threshold; }
+
+    // Per-cell significance level: alpha shared out over every cell of the baseline
+    double getCellAlpha() {
+        return alpha / Math.max(1, baseline.size());
+    }
+
+    // Verdict for one candidate cell, or null if the baseline run does not have it
+    Verdict test(InputDistribution distribution, String algorithm, long size, double[] candidate) {
+        double[] base = baseline.get(key(distribution, algorithm, size));
+        if (base == null || base.length == 0 || candidate.length == 0) return null;
+
+        double pSlower = mannWhitneyP(candidate, base);
+        double pFaster = mannWhitneyP(base, candidate);
+        double baseMedian = median(base);
+        double shift = hodgesLehmann(candidate, base) / baseMedian;
+
+        Outcome outcome;
+        double cellAlpha = getCellAlpha();
+        if (pSlower <= cellAlpha && shift >= threshold && isSlowerWithoutSlowest(candidate, base, cellAlpha)) {
+            outcome = Outcome.REGRESSED;
+        } else if (pFaster <= cellAlpha && shift <= -threshold) {
+            outcome = Outcome.IMPROVED;
+        } else if (minimumP(candidate.length - 1, base.length) > cellAlpha) {
+            outcome = Outcome.INCONCLUSIVE;
+        } else {
+            outcome = Outcome.UNCHANGED;
+        }
+        return new Verdict(distribution, algorithm, size, base.length, candidate.length, baseMedian,
+                median(candidate), shift, pSlower, pFaster, outcome);
+    }
+
+    // The slowdown test again with the candidate's largest sample dropped
+    private boolean isSlowerWithoutSlowest(double[] candidate, double[] base, double cellAlpha) {
+        if (candidate.length < 2) return false;
+        double[] rest = candidate.clone();
+        Arrays.sort(rest);
+        rest = Arrays.copyOf(rest, rest.length - 1);
+        return mannWhitneyP(rest, base) <= cellAlpha && hodgesLehmann(rest, base) / median(base) >= threshold;
+    }
+
+    // Verdicts for every cell of a candidate run that the baseline also has
+    List<Verdict> compare(List<HistoryStore.Entry> candidateRun) {
+        Map<String, HistoryStore.Entry> latest = new HashMap<>();
+        List<String> order = new ArrayList<>();
+        for (HistoryStore.Entry entry : candidateRun) {
+            String key = key(entry.distribution, entry.algorithm, entry.size);
+            if (latest.put(key, entry) == null) order.add(key);
+        }
+        List<Verdict> verdicts = new ArrayList<>();
+        for (String key : order) {
+            HistoryStore.Entry entry = latest.get(key);
+            Verdict verdict = test(entry.distribution, entry.algorithm, entry.size, entry.samples);
+            if (verdict != null) verdicts.add(verdict);
+        }
+        return verdicts;
+    }
+
+    static boolean anyRegressed(List<Verdict> verdicts) {
+        for (Verdict verdict : verdicts) {
+            if (verdict.outcome == Outcome.REGRESSED) return true;
+        }
+        return false;
+    }
+
+    // Plain-text report: a summary line, then regressions first, then the other cells
+    String report(List<Verdict> verdicts) {
+        int[] totals = new int[Outcome.values().length];
+        for (Verdict verdict : verdicts) totals[verdict.outcome.ordinal()]++;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT,
+                "%d cell(s) compared: %d regressed, %d improved, %d unchanged, %d inconclusive%n"
+                + "Mann-Whitney U, one-sided, alpha %.3g over %d baseline cells (%.2g per cell); "
+                + "shift threshold %.1f%%%n",
+                verdicts.size(), totals[Outcome.REGRESSED.ordinal()], totals[Outcome.IMPROVED.ordinal()],
+                totals[Outcome.UNCHANGED.ordinal()], totals[Outcome.INCONCLUSIVE.ordinal()],
+                alpha, baseline.size(), getCellAlpha(), 100 * threshold));
+        for (Outcome outcome : Outcome.values()) {
+            for (Verdict verdict : verdicts) {
+                if (verdict.outcome == outcome) sb.append(verdict.describe()).append(System.lineSeparator());
+            }
+        }
+        return sb.toString();
+    }
+
+    // Warning line if the baseline was measured in another environment than the candidate, else ""
+    static String environmentNote(HistoryStore history, List<HistoryStore.Entry> baselineRun,
+                                  String candidateEnvironmentId) {
+        for (HistoryStore.Entry entry : baselineRun) {
+            if (entry.environmentId.equals(candidateEnvironmentId)) continue;
+            try {
+                EnvironmentFingerprint base = history.environment(entry.environmentId);
+                EnvironmentFingerprint candidate = history.environment(candidateEnvironmentId);
+                if (candidate == null) candidate = EnvironmentFingerprint.current();
+                String changes = base != null ? candidate.differencesFrom(base) : "";
+                return "Warning: the baseline was measured in another environment"
+                        + (changes.isEmpty() ? "" : " (" + changes + ")") + System.lineSeparator();
+            } catch (IOException e) {
+                return "Warning: the baseline was measured in another environment" + System.lineSeparator();
+            }
+        }
+        return "";
+    }
+
+    // One-sided p-value of the Mann-Whitney U test for "x tends to be larger than y": the null
+    // probability of a U at least as large as observed, where U counts pairs with x > y (ties
+    // as half). Exact for small samples without ties, otherwise the tie-corrected normal
+    // approximation with continuity correction.
+    static double mannWhitneyP(double[] x, double[] y) {
+        int n1 = x.length, n2 = y.length;
+        double u = 0;
+        boolean ties = false;
+        for (double a : x) {
+            for (double b : y) {
+                if (a > b) u += 1;
+                else if (a == b) { u += 0.5; ties = true; }
+            }
+        }
+        if (!ties && (long) n1 * n2 <= EXACT_LIMIT) {
+            double[] counts = exactCounts(n1, n2);
+            double total = 0, tail = 0;
+            for (int k = 0; k < counts.length; k++) {
+                total += counts[k];
+                if (k >= u) tail += counts[k];
+            }
+            return tail / total;
+        }
+
+        double n = n1 + n2;
+        double tieTerm = 0;
+        double[] all = new double[(int) n];
+        System.arraycopy(x, 0, all, 0, n1);
+        System.arraycopy(y, 0, all, n1, n2);
+        Arrays.sort(all);
+        for (int i = 0; i < all.length; ) {
+            int j = i;
+            while (j < all.length && all[j] == all[i]) j++;
+            double t = j - i;
+            tieTerm += t * t * t - t;
+            i = j;
+        }
+        double variance = n1 * n2 / 12.0 * ((n + 1) - tieTerm / (n * (n - 1)));
+        if (variance <= 0) return 1.0; // Every sample identical
+        double z = (u - n1 * n2 / 2.0 - 0.5) / Math.sqrt(variance);
+        return upperNormalTail(z);
+    }
+
+    // Smallest p-value the exact test can reach: every x above every y
+    static double minimumP(int n1, int n2) {
+        if (n1 <= 0 || n2 <= 0) return 1;
+        double p = 1;
+        for (int i = 1; i <= n1; i++) p = p * i / (n2 + i);
+        return p;
+    }
+
+    // counts[u] = orderings of n1 x's and n2 y's with U = u; the largest element is either an x
+    // (beating all n2 y's) or a y
+    private static double[] exactCounts(int n1, int n2) {
+        double[][] previousRow = new double[n2 + 1][];
+        for (int j = 0; j <= n2; j++) previousRow[j] = new double[]{1}; // i = 0: U is always 0
+        for (int i = 1; i <= n1; i++) {
+            double[][] row = new double[n2 + 1][];
+            row[0] = new double[]{1};
+            for (int j = 1; j <= n2; j++) {
+                double[] counts = new double[i * j + 1];
+                double[] xLast = previousRow[j];   // (i - 1, j), shifted by j
+                double[] yLast = row[j - 1];       // (i, j - 1)
+                for (int k = 0; k < xLast.length; k++) counts[k + j] += xLast[k];
+                for (int k = 0; k < yLast.length; k++) counts[k] += yLast[k];
+                row[j] = counts;
+            }
+            previousRow = row;
+        }
+        return previousRow[n2];
+    }
+
+    // Median of all pairwise differences x_i - y_j
+    static double hodgesLehmann(double[] x, double[] y) {
+        double[] differences = new double[x.length * y.length];
+        int k = 0;
+        for (double a : x) {
+            for (double b : y) differences[k++] = a - b;
+        }
+        return median(differences);
+    }
+
+    static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int n = sorted.length;
+        return n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2.0;
+    }
+
+    // P(Z >= z) for a standard normal Z (Abramowitz and Stegun 7.1.26, error below 1.5e-7)
+    private static double upperNormalTail(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erfc = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))))
+                * Math.exp(-x * x);
+        return z >= 0 ? erfc / 2 : 1 - erfc / 2;
+    }
+}
@@ -0,0 +1,116 @@
+// Import modules
+import java.util.Arrays;
+
+// Results of one input distribution, [row][col] with the table's rows and result columns
+// (column 0, the sizes, is unused). Each cell has a Status; the times the views plot are kept
+// in primitive arrays, with the full TrialStats (samples, allocation) beside them for tooltips
+// and the history. Writers go through the synchronized setters. Readers take snapshot(), an
+// immutable copy made at most once per change, so one repaint sees one consistent state
+// however many threads publish, and repaints without changes copy nothing.
+final class ResultMatrix {
+    enum Status { PENDING, RUNNING, MEASURED, PROJECTED, NOT_AVAILABLE, CANCELLED, TIMED_OUT, ERROR }
+
+    private static final Status[] STATUSES = Status.values();
+
+    // Cell values of one moment, flattened row by row
+    static final class Snapshot {
+        private final int columns;
+        private final byte[] status;
+        private final double[] mean;     // MEASURED: mean of the trials; PROJECTED: predicted time; else NaN
+        private final double[] ciLow;    // MEASURED: 95% confidence interval of the mean; else NaN
+        private final double[] ciHigh;
+        private final double[] exponent; // PROJECTED: growth exponent of the extrapolation; else NaN
+        private final TrialStats[] stats;
+
+        private Snapshot(int rows, int columns) {
+            int cells = rows * columns;
+            this.columns = columns;
+            this.status = new byte[cells];
+            this.mean = new double[cells];
+            this.ciLow = new double[cells];
+            this.ciHigh = new double[cells];
+            this.exponent = new double[cells];
+            this.stats = new TrialStats[cells];
+            Arrays.fill(mean, Double.NaN);
+            Arrays.fill(ciLow, Double.NaN);
+            Arrays.fill(ciHigh, Double.NaN);
+            Arrays.fill(exponent, Double.NaN);
+        }
+
+        private Snapshot(Snapshot source) {
+            this.columns = source.columns;
+            this.status = source.status.clone();
+            this.mean = source.mean.clone();
+            this.ciLow = source.ciLow.clone();
+            this.ciHigh = source.ciHigh.clone();
+            this.exponent = source.exponent.clone();
+            this.stats = source.stats.clone();
+        }
+
+        Status status(int row, int col) { return STATUSES[status[row * columns + col]]; }
+        boolean isMeasured(int row, int col) { return status(row, col) == Status.MEASURED; }
+        boolean isProjected(int row, int col) { return status(row, col) == Status.PROJECTED; }
+        double mean(int row, int col) { return mean[row * columns + col]; }
+        double ciLow(int row, int col) { return ciLow[row * columns + col]; }
+        double ciHigh(int row, int col) { return ciHigh[row * columns + col]; }
+
+        // Full statistics of a MEASURED cell, else null
+        TrialStats stats(int row, int col) { return stats[row * columns + col]; }
+
+        // Prediction of a PROJECTED cell, else null
+        ProjectedTime projection(int row, int col) {
+            int i = row * columns + col;
+            return status[i] == Status.PROJECTED.ordinal() ? new ProjectedTime(mean[i], exponent[i]) : null;
+        }
+    }
+
+    private final Snapshot live;
+    private volatile Snapshot published;
+
+    ResultMatrix(int rows, int columns) {
+        live = new Snapshot(rows, columns);
+    }
+
+    // A status without a time: PENDING, RUNNING, NOT_AVAILABLE, CANCELLED, TIMED_OUT or ERROR
+    synchronized void set(int row, int col, Status status) {
+        if (status == Status.MEASURED || status == Status.PROJECTED) {
+            throw new IllegalArgumentException(status + " cells need a time");
+        }
+        write(row, col, status, Double.NaN, Double.NaN, Double.NaN, Double.NaN, null);
+    }
+
+    synchronized void setMeasured(int row, int col, TrialStats stats) {
+        write(row, col, Status.MEASURED, stats.getMean(), stats.getCiLow(), stats.getCiHigh(), Double.NaN, stats);
+    }
+
+    synchronized void setProjected(int row, int col, ProjectedTime projection) {
+        write(row, col, Status.PROJECTED, projection.getMs(), Double.NaN, Double.NaN, projection.getExponent(), null);
+    }
+
+    private void write(int row, int col, Status status, double mean, double ciLow, double ciHigh, double exponent,
+                       TrialStats stats) {
+        int i = row * live.columns + col;
+        live.status[i] = (byte) status.ordinal();
+        live.mean[i] = mean;
+        live.ciLow[i] = ciLow;
+        live.ciHigh[i] = ciHigh;
+        live.exponent[i] = exponent;
+        live.stats[i] = stats;
+        published = null; // The next reader copies the new state
+    }
+
+    // Current values for the writer's own bookkeeping, e.g. projecting from the cells below
+    synchronized Status status(int row, int col) { return live.status(row, col); }
+    synchronized double mean(int row, int col) { return live.mean(row, col); }
+    synchronized TrialStats stats(int row, int col) { return live.stats(row, col); }
+
+    // Consistent immutable view of every cell
+    Snapshot snapshot() {
+        Snapshot snapshot = published;
+        if (snapshot != null) return snapshot;
+        synchronized (this) {
+            if (published == null) published = new Snapshot(live);
+            return published;
+        }
+    }
+}
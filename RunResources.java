@@ -0,0 +1,33 @@
+// Allocation and garbage collection seen while one cell's trials were measured.
+// Trials that a collection overlapped are dropped when enough clean ones remain, otherwise
+// kept and counted as flagged, so the mean they feed into can be marked as suspect.
+final class RunResources {
+    private final double allocatedBytesPerSort;   // NaN when the JVM cannot count allocation
+    private final int size;                       // Elements per sort
+    private final long gcCount;                   // Collections during the measured trials, dropped ones included
+    private final long gcPauseMs;
+    private final int discardedTrials;
+    private final int flaggedTrials;
+
+    RunResources(double allocatedBytesPerSort, int size, long gcCount, long gcPauseMs,
+                 int discardedTrials, int flaggedTrials) {
+        this.allocatedBytesPerSort = allocatedBytesPerSort;
+        this.size = size;
+        this.gcCount = gcCount;
+        this.gcPauseMs = gcPauseMs;
+        this.discardedTrials = discardedTrials;
+        this.flaggedTrials = flaggedTrials;
+    }
+
+    double getAllocatedBytesPerSort() { return allocatedBytesPerSort; }
+    int getSize() { return size; }
+    long getGcCount() { return gcCount; }
+    long getGcPauseMs() { return gcPauseMs; }
+    int getDiscardedTrials() { return discardedTrials; }
+    int getFlaggedTrials() { return flaggedTrials; }
+
+    // Heap bytes allocated per input element by one sort, NaN if unknown
+    double getBytesPerElement() {
+        return size > 0 ? allocatedBytesPerSort / size : Double.NaN;
+    }
+}
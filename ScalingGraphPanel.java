@@ -0,0 +1,276 @@
+// Import modules
+import java.awt.*;
+import java.text.DecimalFormat;
+import java.util.List;
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+
+// Log-log chart of every algorithm across all sizes of the ladder, with a least-squares
+// complexity fit per series extrapolated beyond the largest measured size
+class ScalingGraphPanel extends JPanel {
+    private final SortingTableModel model;
+    private final List<SortEngine> engines = SortEngineRegistry.getEngines();
+
+    // Same palette and fonts as BenchmarkGraphPanel
+    private final Color backgroundColor = new Color(250, 252, 255);
+    private final Color gridColor = new Color(220, 235, 250);
+    private final Color textColor = new Color(44, 62, 80);
+    private final Color warningColor = new Color(200, 0, 0);
+    private final Font titleFont = new Font("Segoe UI", Font.BOLD, 22);
+    private final Font axisLabelFont = new Font("Segoe UI", Font.BOLD, 14);
+    private final Font labelFont = new Font("Segoe UI", Font.PLAIN, 13);
+    private final Font legendFont = new Font("Segoe UI", Font.PLAIN, 12);
+    private final DecimalFormat sizeFormat = new DecimalFormat("#,##0");
+
+    // Extrapolation targets offered in the selector
+    private static final long[] EXTRAPOLATION_SIZES = {1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L};
+
+    // -1 shows every algorithm, otherwise the index of the single engine shown
+    private int selectedEngine = -1;
+    private long extrapolateTo = 1_000_000_000L;
+
+    public ScalingGraphPanel(SortingTableModel model) {
+        this.model = model;
+        setLayout(new BorderLayout());
+        setBackground(backgroundColor);
+        add(createControlPanel(), BorderLayout.NORTH);
+
+        JPanel chart = new JPanel() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                drawChart((Graphics2D) g, getWidth(), getHeight());
+            }
+        };
+        chart.setBackground(backgroundColor);
+        add(chart, BorderLayout.CENTER);
+
+        // Refit as results arrive
+        model.addTableModelListener(e -> repaint());
+    }
+
+    private JPanel createControlPanel() {
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controlPanel.setBackground(backgroundColor);
+        controlPanel.setBorder(new EmptyBorder(5, 10, 5, 10));
+
+        JLabel showLabel = new JLabel("Show: ");
+        showLabel.setFont(labelFont);
+        String[] options = new String[engines.size() + 1];
+        options[0] = "All algorithms";
+        for (int i = 0; i < engines.size(); i++) options[i + 1] = engines.get(i).getName();
+        JComboBox<String> engineSelector = new JComboBox<>(options);
+        engineSelector.setFont(labelFont);
+        engineSelector.addActionListener(e -> {
+            selectedEngine = engineSelector.getSelectedIndex() - 1;
+            repaint();
+        });
+
+        JLabel extrapolateLabel = new JLabel("   Extrapolate to: ");
+        extrapolateLabel.setFont(labelFont);
+        String[] sizeOptions = new String[EXTRAPOLATION_SIZES.length];
+        for (int i = 0; i < sizeOptions.length; i++) sizeOptions[i] = sizeFormat.format(EXTRAPOLATION_SIZES[i]) + " elements";
+        JComboBox<String> extrapolationSelector = new JComboBox<>(sizeOptions);
+        extrapolationSelector.setFont(labelFont);
+        extrapolationSelector.setSelectedIndex(sizeOptions.length - 1);
+        extrapolationSelector.addActionListener(e -> {
+            extrapolateTo = EXTRAPOLATION_SIZES[extrapolationSelector.getSelectedIndex()];
+            repaint();
+        });
+
+        controlPanel.add(showLabel);
+        controlPanel.add(engineSelector);
+        controlPanel.add(extrapolateLabel);
+        controlPanel.add(extrapolationSelector);
+        return controlPanel;
+    }
+
+    // Measured means of one column over the ladder rows; non-measured rows are NaN
+    private double[][] series(ResultMatrix.Snapshot results, int col) {
+        SizeLadder ladder = model.getSizeLadder();
+        double[] sizes = new double[ladder.length()], times = new double[ladder.length()];
+        for (int row = 0; row < ladder.length(); row++) {
+            sizes[row] = ladder.get(row);
+            times[row] = results.isMeasured(row, col) ? results.mean(row, col) : Double.NaN;
+        }
+        return new double[][]{sizes, times};
+    }
+
+    private void drawChart(Graphics2D g2, int width, int height) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        int left = 90, right = 380, top = 80, bottom = 70;
+        int plotRight = width - right, plotBottom = height - bottom;
+        if (plotRight - left < 100 || plotBottom - top < 100) return;
+
+        // Fit every shown series first so the axes cover measurements and extrapolations
+        ComplexityFit[] fits = new ComplexityFit[engines.size()];
+        double[][][] points = new double[engines.size()][][];
+        double minN = Double.MAX_VALUE, maxN = extrapolateTo, minT = Double.MAX_VALUE, maxT = 0;
+        ResultMatrix.Snapshot results = model.getResults();
+        for (int i = 0; i < engines.size(); i++) {
+            if (!isShown(i)) continue;
+            points[i] = series(results, i + 1);
+            fits[i] = ComplexityFit.of(points[i][0], points[i][1]);
+            for (int r = 0; r < points[i][0].length; r++) {
+                minN = Math.min(minN, points[i][0][r]);
+                maxN = Math.max(maxN, points[i][0][r]);
+                double t = points[i][1][r];
+                if (t > 0) {
+                    minT = Math.min(minT, t);
+                    maxT = Math.max(maxT, t);
+                }
+            }
+            if (fits[i] != null) maxT = Math.max(maxT, fits[i].extrapolate(extrapolateTo));
+        }
+        if (maxT <= 0) {
+            g2.setFont(axisLabelFont);
+            g2.setColor(textColor);
+            g2.drawString("Waiting for at least one measured size...", left, top + 40);
+            return;
+        }
+
+        double xMin = Math.floor(Math.log10(minN)), xMax = Math.ceil(Math.log10(maxN));
+        if (xMax - xMin < 1) xMax = xMin + 1;
+        double yMin = Math.floor(Math.log10(minT)), yMax = Math.ceil(Math.log10(maxT));
+        if (yMax - yMin < 1) yMax = yMin + 1;
+
+        drawTitle(g2, width);
+        drawAxes(g2, left, top, plotRight, plotBottom, xMin, xMax, yMin, yMax);
+
+        int legendY = top;
+        for (int i = 0; i < engines.size(); i++) {
+            if (!isShown(i)) continue;
+            Color color = new Color(engines.get(i).getColorRgb());
+            double[] sizes = points[i][0], times = points[i][1];
+
+            // Measured points
+            g2.setColor(color);
+            for (int r = 0; r < sizes.length; r++) {
+                if (!(times[r] > 0)) continue;
+                int x = px(Math.log10(sizes[r]), xMin, xMax, left, plotRight);
+                int y = py(Math.log10(times[r]), yMin, yMax, top, plotBottom);
+                g2.fillOval(x - 4, y - 4, 8, 8);
+            }
+
+            ComplexityFit fit = fits[i];
+            if (fit != null) drawFitLine(g2, fit, color, xMin, xMax, yMin, yMax, left, top, plotRight, plotBottom);
+            legendY = drawLegendEntry(g2, plotRight + 25, legendY, i, color, fit);
+        }
+    }
+
+    private boolean isShown(int engine) {
+        return selectedEngine < 0 || selectedEngine == engine;
+    }
+
+    // Solid over the measured range, dashed beyond it up to the extrapolation target
+    private void drawFitLine(Graphics2D g2, ComplexityFit fit, Color color, double xMin, double xMax,
+                             double yMin, double yMax, int left, int top, int right, int bottom) {
+        Shape clip = g2.getClip();
+        g2.clipRect(left, top, right - left, bottom - top);
+        double measuredEnd = Math.log10(fit.getMaxSize());
+        int steps = 60;
+        for (int s = 0; s < steps; s++) {
+            double x0 = xMin + (xMax - xMin) * s / steps, x1 = xMin + (xMax - xMin) * (s + 1) / steps;
+            boolean extrapolated = x0 >= measuredEnd;
+            g2.setStroke(extrapolated
+                    ? new BasicStroke(1.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f, new float[]{6f, 5f}, 0f)
+                    : new BasicStroke(2f));
+            g2.setColor(extrapolated ? color.brighter() : color);
+            double t0 = fit.extrapolate(Math.pow(10, x0)), t1 = fit.extrapolate(Math.pow(10, x1));
+            if (!(t0 > 0) || !(t1 > 0)) continue;
+            g2.drawLine(px(x0, xMin, xMax, left, right), py(Math.log10(t0), yMin, yMax, top, bottom),
+                    px(x1, xMin, xMax, left, right), py(Math.log10(t1), yMin, yMax, top, bottom));
+        }
+        g2.setClip(clip);
+        g2.setStroke(new BasicStroke(1f));
+    }
+
+    // Name, best model with its constant, the power-law exponent and the extrapolated time
+    private int drawLegendEntry(Graphics2D g2, int x, int y, int engine, Color color, ComplexityFit fit) {
+        SortEngine e = engines.get(engine);
+        g2.setColor(color);
+        g2.fillRect(x, y - 9, 10, 10);
+        g2.setFont(new Font("Segoe UI", Font.BOLD, 12));
+        g2.setColor(textColor);
+        g2.drawString(e.getName(), x + 16, y);
+        g2.setFont(legendFont);
+        if (fit == null) {
+            g2.drawString("needs two measured sizes", x + 16, y + 15);
+            return y + 36;
+        }
+
+        ComplexityFit.Fit best = fit.getBest();
+        double nominal = e.isQuadratic() ? 2.0 : 1.0;
+        String exponent = String.format("b = %.2f", fit.getPower().exponent);
+        if (fit.isSuperNominal(nominal)) {
+            g2.setColor(warningColor);
+            exponent += String.format(" (expected ~%.0f)", nominal);
+        }
+        g2.drawString(String.format("%s, %s, c = %.3g ms", exponent, best.model, best.constant), x + 16, y + 15);
+        g2.setColor(textColor);
+        g2.drawString(String.format("n = %s: ~%s", sizeFormat.format(extrapolateTo),
+                formatTime(fit.extrapolate(extrapolateTo))), x + 16, y + 30);
+        return y + 46;
+    }
+
+    private void drawTitle(Graphics2D g2, int width) {
+        String title = "Scaling Across Sizes (" + model.getDistribution() + ", " + model.getKeyType() + ")";
+        g2.setFont(titleFont);
+        g2.setColor(textColor);
+        g2.drawString(title, (width - g2.getFontMetrics().stringWidth(title)) / 2, 40);
+    }
+
+    // Decade grid lines and labels on both log axes
+    private void drawAxes(Graphics2D g2, int left, int top, int right, int bottom,
+                          double xMin, double xMax, double yMin, double yMax) {
+        g2.setFont(labelFont);
+        for (double p = xMin; p <= xMax; p++) {
+            int x = px(p, xMin, xMax, left, right);
+            g2.setColor(gridColor);
+            g2.drawLine(x, top, x, bottom);
+            g2.setColor(textColor);
+            String label = "10^" + (int) p;
+            g2.drawString(label, x - g2.getFontMetrics().stringWidth(label) / 2, bottom + 18);
+        }
+        for (double p = yMin; p <= yMax; p++) {
+            int y = py(p, yMin, yMax, top, bottom);
+            g2.setColor(gridColor);
+            g2.drawLine(left, y, right, y);
+            g2.setColor(textColor);
+            g2.drawString(formatTime(Math.pow(10, p)), left - 75, y + 5);
+        }
+        g2.setColor(gridColor.darker());
+        g2.drawRect(left, top, right - left, bottom - top);
+
+        g2.setFont(axisLabelFont);
+        g2.setColor(textColor);
+        g2.drawString("Time per sort (ms) - Log Scale", 20, top - 15);
+        String xTitle = "Array Size (elements) - Log Scale; dashed lines are extrapolated";
+        g2.drawString(xTitle, left + (right - left - g2.getFontMetrics().stringWidth(xTitle)) / 2, bottom + 45);
+    }
+
+    private static String formatTime(double ms) {
+        if (ms >= 172_800_000) return String.format("%.0f days", ms / 86_400_000);
+        if (ms >= 3_600_000) return String.format("%.1f h", ms / 3_600_000);
+        if (ms >= 60_000) return String.format("%.1f min", ms / 60_000);
+        if (ms >= 1_000) return String.format("%.1f s", ms / 1_000);
+        if (ms >= 1) return String.format("%.1f ms", ms);
+        return String.format("%.4f ms", ms);
+    }
+
+    private static int px(double logN, double min, double max, int left, int right) {
+        return left + (int) ((logN - min) / (max - min) * (right - left));
+    }
+
+    private static int py(double logT, double min, double max, int top, int bottom) {
+        return bottom - (int) ((logT - min) / (max - min) * (bottom - top));
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        // Tall enough for a legend entry per engine
+        return new Dimension(1100, Math.max(600, 120 + engines.size() * 46));
+    }
+}
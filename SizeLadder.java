@@ -0,0 +1,67 @@
+// Import modules
+import java.text.DecimalFormat;
+import java.util.Arrays;
+
+// The array sizes benchmarked as table rows and offered by the graph's size selector.
+// -Dsorting.sizes takes either a comma-separated list ("100,1000,10000") or a geometric
+// range written base:fromExp-toExp, e.g. "2:4-26" for 2^4 .. 2^26 or "10:2-7".
+final class SizeLadder {
+    static final String DEFAULT_SPEC = "100,1000,10000,100000,10000000";
+
+    private final int[] sizes;
+
+    private SizeLadder(int[] sizes) {
+        this.sizes = sizes;
+    }
+
+    static SizeLadder fromSystemProperties() {
+        return parse(System.getProperty("sorting.sizes", DEFAULT_SPEC));
+    }
+
+    // Sizes are sorted and de-duplicated, since predictions extrapolate from smaller rows
+    static SizeLadder parse(String spec) {
+        String s = spec.trim();
+        int[] sizes;
+        if (s.matches("\\d+:\\d+-\\d+")) {
+            String[] parts = s.split("[:-]");
+            long base = Long.parseLong(parts[0]);
+            int from = Integer.parseInt(parts[1]), to = Integer.parseInt(parts[2]);
+            if (base < 2 || from > to) throw new IllegalArgumentException("Bad size range: " + spec);
+            sizes = new int[to - from + 1];
+            for (int e = from; e <= to; e++) sizes[e - from] = checked(Math.pow(base, e), spec);
+        } else {
+            String[] parts = s.split(",");
+            sizes = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) sizes[i] = checked(Long.parseLong(parts[i].trim()), spec);
+        }
+        return new SizeLadder(Arrays.stream(sizes).sorted().distinct().toArray());
+    }
+
+    private static int checked(double size, String spec) {
+        if (size < 1 || size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Size out of range in " + spec + ": " + (long) size);
+        }
+        return (int) size;
+    }
+
+    int length() {
+        return sizes.length;
+    }
+
+    int get(int index) {
+        return sizes[index];
+    }
+
+    int indexOf(int size) {
+        int i = Arrays.binarySearch(sizes, size);
+        return i >= 0 ? i : -1;
+    }
+
+    // Selector labels such as "1,024 elements"
+    String[] labels() {
+        DecimalFormat format = new DecimalFormat("#,##0");
+        String[] labels = new String[sizes.length];
+        for (int i = 0; i < sizes.length; i++) labels[i] = format.format(sizes[i]) + " elements";
+        return labels;
+    }
+}
@@ -0,0 +1,112 @@
+// A sort engine as seen by the benchmark table, the graph and the animation.
+// Engines are contributed by SortEngineProvider implementations found with ServiceLoader.
+public interface SortEngine extends SortingTableModel.Sorter {
+    // Stable key, used for JMH method names and result files, e.g. "mergeSort"
+    String getId();
+
+    // Display name, e.g. "Merge Sort"
+    String getName();
+
+    // Graph colour as 0xRRGGBB, kept free of AWT types so headless callers can use engines
+    int getColorRgb();
+
+    // O(n^2) engines are scheduled last, and their runtimes are extrapolated as at least n^2
+    boolean isQuadratic();
+
+    // Sorts the array in place into ascending order
+    @Override
+    void sort(int[] a);
+
+    // Variant that sorts a memory-mapped dataset, or null if the engine has none
+    default MappedSorts.Sorter getMappedSorter() {
+        return null;
+    }
+
+    // Instrumented copy of the sort that counts its operations, or null if the engine has none
+    default CountingSortAlgorithms.Sorter getCountingSorter() {
+        return null;
+    }
+
+    // Variants for the other key types (see KeyType), or null if the engine has none
+    default LongSortAlgorithms.Sorter getLongSorter() {
+        return null;
+    }
+
+    default DoubleSortAlgorithms.Sorter getDoubleSorter() {
+        return null;
+    }
+
+    default ObjectSortAlgorithms.Sorter getObjectSorter() {
+        return null;
+    }
+
+    // Extra facts about the calling thread's most recent sort, e.g. I/O volume, or null
+    default String getRunDetails() {
+        return null;
+    }
+
+    // Convenience factory for engines backed by a method reference
+    static Simple of(String id, String name, int colorRgb, boolean quadratic, SortingTableModel.Sorter sorter) {
+        return new Simple(id, name, colorRgb, quadratic, sorter, null, null, null, null, null);
+    }
+
+    // As above, for engines that can also sort memory-mapped datasets
+    static Simple of(String id, String name, int colorRgb, boolean quadratic, SortingTableModel.Sorter sorter,
+                         MappedSorts.Sorter mappedSorter) {
+        return new Simple(id, name, colorRgb, quadratic, sorter, mappedSorter, null, null, null, null);
+    }
+
+    // As above, with an operation-counting copy of the sort (mappedSorter may be null)
+    static Simple of(String id, String name, int colorRgb, boolean quadratic, SortingTableModel.Sorter sorter,
+                         MappedSorts.Sorter mappedSorter, CountingSortAlgorithms.Sorter countingSorter) {
+        return new Simple(id, name, colorRgb, quadratic, sorter, mappedSorter, countingSorter, null, null, null);
+    }
+
+    final class Simple implements SortEngine {
+        private final String id;
+        private final String name;
+        private final int colorRgb;
+        private final boolean quadratic;
+        private final SortingTableModel.Sorter sorter;
+        private final MappedSorts.Sorter mappedSorter;
+        private final CountingSortAlgorithms.Sorter countingSorter;
+        private final LongSortAlgorithms.Sorter longSorter;
+        private final DoubleSortAlgorithms.Sorter doubleSorter;
+        private final ObjectSortAlgorithms.Sorter objectSorter;
+
+        Simple(String id, String name, int colorRgb, boolean quadratic, SortingTableModel.Sorter sorter,
+               MappedSorts.Sorter mappedSorter, CountingSortAlgorithms.Sorter countingSorter,
+               LongSortAlgorithms.Sorter longSorter, DoubleSortAlgorithms.Sorter doubleSorter,
+               ObjectSortAlgorithms.Sorter objectSorter) {
+            this.id = id;
+            this.name = name;
+            this.colorRgb = colorRgb;
+            this.quadratic = quadratic;
+            this.sorter = sorter;
+            this.mappedSorter = mappedSorter;
+            this.countingSorter = countingSorter;
+            this.longSorter = longSorter;
+            this.doubleSorter = doubleSorter;
+            this.objectSorter = objectSorter;
+        }
+
+        // Copy of this engine with variants for the other key types; any of them may be null
+        public Simple withKeySorters(LongSortAlgorithms.Sorter longSorter, DoubleSortAlgorithms.Sorter doubleSorter,
+                                     ObjectSortAlgorithms.Sorter objectSorter) {
+            return new Simple(id, name, colorRgb, quadratic, sorter, mappedSorter, countingSorter,
+                    longSorter, doubleSorter, objectSorter);
+        }
+
+        @Override public String getId() { return id; }
+        @Override public String getName() { return name; }
+        @Override public int getColorRgb() { return colorRgb; }
+        @Override public boolean isQuadratic() { return quadratic; }
+        @Override public void sort(int[] a) { sorter.sort(a); }
+        @Override public MappedSorts.Sorter getMappedSorter() { return mappedSorter; }
+        @Override public CountingSortAlgorithms.Sorter getCountingSorter() { return countingSorter; }
+        @Override public LongSortAlgorithms.Sorter getLongSorter() { return longSorter; }
+        @Override public DoubleSortAlgorithms.Sorter getDoubleSorter() { return doubleSorter; }
+        @Override public ObjectSortAlgorithms.Sorter getObjectSorter() { return objectSorter; }
+        @Override public String toString() { return name; }
+    }
+}
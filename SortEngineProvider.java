@@ -0,0 +1,9 @@
+// Import modules
+import java.util.List;
+
+// Service interface for contributing sort engines. Implementations are listed in
+// META-INF/services/SortEngineProvider and need a public no-argument constructor.
+// Like the rest of the project they live in the unnamed package.
+public interface SortEngineProvider {
+    List<SortEngine> getEngines();
+}
@@ -0,0 +1,66 @@
+// Import modules
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+// Single list of sort engines read by the table columns, graph bars and animation dropdown
+final class SortEngineRegistry {
+    private static volatile List<SortEngine> engines;
+
+    private SortEngineRegistry() {}
+
+    // All engines, built-ins first in their fixed order, then discovered engines
+    static List<SortEngine> getEngines() {
+        List<SortEngine> result = engines;
+        if (result == null) {
+            synchronized (SortEngineRegistry.class) {
+                result = engines;
+                if (result == null) engines = result = load();
+            }
+        }
+        return result;
+    }
+
+    // Looks up an engine by id, returns null if unknown
+    static SortEngine find(String id) {
+        for (SortEngine engine : getEngines()) {
+            if (engine.getId().equals(id)) return engine;
+        }
+        return null;
+    }
+
+    // Position of an engine in getEngines(), or -1 if unknown
+    static int indexOf(String id) {
+        List<SortEngine> all = getEngines();
+        for (int i = 0; i < all.size(); i++) {
+            if (all.get(i).getId().equals(id)) return i;
+        }
+        return -1;
+    }
+
+    private static List<SortEngine> load() {
+        Map<String, SortEngine> byId = new LinkedHashMap<>();
+
+        // Built-ins are added directly so they are present even without META-INF on the classpath
+        for (SortEngine engine : new BuiltinSortEngines().getEngines()) byId.put(engine.getId(), engine);
+
+        try {
+            for (SortEngineProvider provider : ServiceLoader.load(SortEngineProvider.class)) {
+                if (provider instanceof BuiltinSortEngines) continue;
+                for (SortEngine engine : provider.getEngines()) {
+                    if (byId.putIfAbsent(engine.getId(), engine) != null) {
+                        System.err.println("Ignoring duplicate sort engine id " + engine.getId()
+                                + " from " + provider.getClass().getName());
+                    }
+                }
+            }
+        } catch (ServiceConfigurationError e) {
+            System.err.println("Could not load sort engine providers: " + e.getMessage());
+        }
+        return Collections.unmodifiableList(new ArrayList<>(byId.values()));
+    }
+}
@@ -4,6 +4,9 @@ import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
 import javax.swing.*;
 
@@ -36,32 +39,31 @@ class SortingAnimationPanel extends JPanel implements Runnable {
     private int currentIndex = -1;        // Currently processed element
     private int comparisonIndex = -1;     // Element being compared
     private int[] tempArray;              // Auxiliary array for merge sort
+    private volatile String phaseText;    // Extra status for multi-pass sorts, e.g. the radix digit
     
-    // Enum representing the available sorting algorithms
-    private enum SortingAlgorithm {
-        BUBBLE("Bubble Sort"),
-        SELECTION("Selection Sort"),
-        INSERTION("Insertion Sort"),
-        MERGE("Merge Sort"),
-        HEAP("Heap Sort");
-        
-        private final String name;
-        
-        SortingAlgorithm(String name) {
-            this.name = name;
-        }
-        
-        @Override
-        public String toString() {
-            return name;
-        }
+    // Parallel merge sort forks helper threads down to this recursion depth (up to 4 workers)
+    private static final int ANIMATION_FORK_DEPTH = 2;
+    // Subarrays smaller than this are merged on the current thread
+    private static final int ANIMATION_FORK_CUTOFF = 8;
+    
+    // A step-by-step animation of one algorithm over the panel's array
+    private interface Animation {
+        void play() throws InterruptedException;
     }
     
-    // Currently selected algorithm (defaults to Bubble Sort)
-    private SortingAlgorithm selectedAlgorithm = SortingAlgorithm.BUBBLE;
+    // Animations for the engines this panel knows how to step through, keyed by engine id;
+    // any other registry engine falls back to placementAnimation
+    private final Map<String, Animation> animations = new HashMap<>();
     
+    // Currently selected algorithm (defaults to the first registry engine)
+    private SortEngine selectedAlgorithm = SortEngineRegistry.getEngines().get(0);
+    
+    // Shape of the generated array
+    private InputDistribution distribution = InputDistribution.RANDOM;
+
     // UI components
-    private final JComboBox<SortingAlgorithm> algorithmSelector;
+    private final JComboBox<SortEngine> algorithmSelector;
+    private final JComboBox<InputDistribution> distributionSelector;
     private final JButton startButton;
     private final JButton resetButton;
     private final JButton pauseButton;
@@ -98,13 +100,34 @@ class SortingAnimationPanel extends JPanel implements Runnable {
         // Add algorithm label and dropdown
         JLabel algorithmLabel = new JLabel("Algorithm: ");
         algorithmLabel.setFont(regularFont);
-        algorithmSelector = new JComboBox<>(SortingAlgorithm.values());
-        algorithmSelector.setSelectedItem(SortingAlgorithm.BUBBLE);
+        registerAnimations();
+        algorithmSelector = new JComboBox<>(SortEngineRegistry.getEngines().toArray(new SortEngine[0]));
+        algorithmSelector.setSelectedItem(selectedAlgorithm);
+        algorithmSelector.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                    boolean isSelected, boolean cellHasFocus) {
+                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                if (value instanceof SortEngine) setText(((SortEngine) value).getName());
+                return this;
+            }
+        });
         algorithmSelector.setFont(regularFont);
         algorithmSelector.setPreferredSize(new Dimension(130, 25));
         
+        // Input shape dropdown; a new array is generated as soon as it changes
+        distributionSelector = new JComboBox<>(InputDistribution.values());
+        distributionSelector.setSelectedItem(distribution);
+        distributionSelector.setFont(regularFont);
+        distributionSelector.setPreferredSize(new Dimension(130, 25));
+        distributionSelector.addActionListener(e -> {
+            distribution = (InputDistribution) distributionSelector.getSelectedItem();
+            if (!isSorting) resetArray();
+        });
+
         algorithmPanel.add(algorithmLabel);
         algorithmPanel.add(algorithmSelector);
+        algorithmPanel.add(distributionSelector);
         
         // Buttons panel (right side of top panel)
         JPanel buttonsPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
@@ -333,11 +356,8 @@ class SortingAnimationPanel extends JPanel implements Runnable {
         isSorting = false;
         paused = false;
         
-        // Create new random array
-        array = new int[size];
-        for (int i = 0; i < size; i++) {
-            array[i] = RAND.nextInt(280) + 20; // Values between 20 and 300
-        }
+        // Create new array with the selected distribution
+        array = distribution.generate(size, 20, 299, RAND.nextLong()); // Values between 20 and 300
         
         // Update UI components
         SwingUtilities.invokeLater(() -> {
@@ -350,11 +370,13 @@ class SortingAnimationPanel extends JPanel implements Runnable {
             
             // Enable controls
             algorithmSelector.setEnabled(true);
+            distributionSelector.setEnabled(true);
             sizeSlider.setEnabled(true);
             
             // Reset visualization state
             currentIndex = -1;
             comparisonIndex = -1;
+            phaseText = null;
             elapsedTime = 0;
             
             repaint();
@@ -379,7 +401,7 @@ class SortingAnimationPanel extends JPanel implements Runnable {
         if (isSorting) return;
         
         // Set up UI for sorting
-        selectedAlgorithm = (SortingAlgorithm) algorithmSelector.getSelectedItem();
+        selectedAlgorithm = (SortEngine) algorithmSelector.getSelectedItem();
         startButton.setText("Sorting");
         startButton.setEnabled(false);
         resetButton.setEnabled(true);
@@ -388,6 +410,7 @@ class SortingAnimationPanel extends JPanel implements Runnable {
         pauseButton.setText("Pause");
         pauseButton.setBackground(buttonColor);
         algorithmSelector.setEnabled(false);
+        distributionSelector.setEnabled(false);
         sizeSlider.setEnabled(false);
         isSorting = true;
         
@@ -402,23 +425,11 @@ class SortingAnimationPanel extends JPanel implements Runnable {
     public void run() {
         try {
             // Execute the selected sorting algorithm
-            switch (selectedAlgorithm) {
-                case BUBBLE:
-                    bubbleSort();
-                    break;
-                case SELECTION:
-                    selectionSort();
-                    break;
-                case INSERTION:
-                    insertionSort();
-                    break;
-                case MERGE:
-                    tempArray = new int[array.length];
-                    mergeSort(array, 0, array.length - 1);
-                    break;
-                case HEAP:
-                    heapSort();
-                    break;
+            Animation animation = animations.get(selectedAlgorithm.getId());
+            if (animation != null) {
+                animation.play();
+            } else {
+                placementAnimation(selectedAlgorithm);
             }
         } catch (InterruptedException e) {
             System.out.println("Sorting interrupted");
@@ -435,6 +446,7 @@ class SortingAnimationPanel extends JPanel implements Runnable {
         // Clear highlights
         currentIndex = -1;
         comparisonIndex = -1;
+        phaseText = null;
         repaint();
         
         // Reset UI after sorting
@@ -444,11 +456,58 @@ class SortingAnimationPanel extends JPanel implements Runnable {
             resetButton.setEnabled(true);
             pauseButton.setEnabled(false);
             algorithmSelector.setEnabled(true);
+            distributionSelector.setEnabled(true);
             sizeSlider.setEnabled(true);
             isSorting = false;
         });
     }
     
+    // Maps built-in engine ids to the animated implementations below
+    private void registerAnimations() {
+        animations.put("bubbleSort", this::bubbleSort);
+        animations.put("selectionSort", this::selectionSort);
+        animations.put("insertionSort", this::insertionSort);
+        animations.put("mergeSort", () -> {
+            tempArray = new int[array.length];
+            mergeSort(array, 0, array.length - 1);
+        });
+        animations.put("heapSort", this::heapSort);
+        animations.put("parallelMergeSort", () -> {
+            tempArray = new int[array.length];
+            parallelMergeSort(0, array.length - 1, 0);
+        });
+        animations.put("introSort", this::introSort);
+        animations.put("radixSort", () -> {
+            tempArray = new int[array.length];
+            radixSort();
+        });
+    }
+    
+    // Fallback for engines without a step animation: sort a copy with the engine itself,
+    // then swap each element into its final position
+    @SuppressWarnings("BusyWait")
+    private void placementAnimation(SortEngine engine) throws InterruptedException {
+        int[] sorted = array.clone();
+        engine.sort(sorted);
+        phaseText = "Placing results (no step animation for this engine)";
+        
+        for (int i = 0; i < array.length; i++) {
+            int j = i;
+            while (j < array.length && array[j] != sorted[i]) j++;
+            if (j == array.length) {
+                throw new IllegalStateException(engine.getName() + " did not return a permutation of its input");
+            }
+            if (j != i) {
+                animatedSwap(i, j);
+            } else {
+                checkPause();
+                currentIndex = i;
+                repaint();
+                Thread.sleep(animationDelay / 2);
+            }
+        }
+    }
+    
     // Checks pause state and handles thread interruption
     private void checkPause() throws InterruptedException {
         if (Thread.currentThread().isInterrupted()) {
@@ -554,13 +613,14 @@ class SortingAnimationPanel extends JPanel implements Runnable {
         Thread.sleep(animationDelay);
     }
     
-    // Merge helper function for merge sort
+    // Merge helper function for merge sort; only touches tempArray[left..right] so
+    // merges of disjoint ranges can run concurrently
     private void merge(int[] a, int left, int mid, int right) throws InterruptedException {
         int i = left, j = mid + 1, k = 0;
         
         // Copy elements to temp array
         for (int idx = left; idx <= right; idx++) {
-            tempArray[idx - left] = a[idx];
+            tempArray[idx] = a[idx];
         }
         
         // Merge the two halves
@@ -571,10 +631,10 @@ class SortingAnimationPanel extends JPanel implements Runnable {
             repaint();
             Thread.sleep(animationDelay / 2);
             
-            if (tempArray[i - left] <= tempArray[j - left]) {
-                a[left + k++] = tempArray[i++ - left];
+            if (tempArray[i] <= tempArray[j]) {
+                a[left + k++] = tempArray[i++];
             } else {
-                a[left + k++] = tempArray[j++ - left];
+                a[left + k++] = tempArray[j++];
             }
         }
         
@@ -582,7 +642,7 @@ class SortingAnimationPanel extends JPanel implements Runnable {
         while (i <= mid) {
             checkPause();
             currentIndex = i;
-            a[left + k++] = tempArray[i++ - left];
+            a[left + k++] = tempArray[i++];
             repaint();
             Thread.sleep(animationDelay / 3);
         }
@@ -591,12 +651,48 @@ class SortingAnimationPanel extends JPanel implements Runnable {
         while (j <= right) {
             checkPause();
             comparisonIndex = j;
-            a[left + k++] = tempArray[j++ - left];
+            a[left + k++] = tempArray[j++];
             repaint();
             Thread.sleep(animationDelay / 3);
         }
     }
     
+    // Parallel merge sort with animation: the left half is sorted on a helper thread
+    // while the current thread sorts the right half, then the halves are merged
+    @SuppressWarnings("BusyWait")
+    private void parallelMergeSort(int left, int right, int depth) throws InterruptedException {
+        checkPause();
+        if (left >= right) return;
+        
+        int mid = (left + right) / 2;
+        if (depth < ANIMATION_FORK_DEPTH && right - left + 1 >= ANIMATION_FORK_CUTOFF) {
+            InterruptedException[] failure = new InterruptedException[1];
+            Thread helper = new Thread(() -> {
+                try {
+                    parallelMergeSort(left, mid, depth + 1);
+                } catch (InterruptedException e) {
+                    failure[0] = e;
+                }
+            }, "animation-merge-" + depth);
+            helper.start();
+            try {
+                parallelMergeSort(mid + 1, right, depth + 1);
+                helper.join();
+            } catch (InterruptedException e) {
+                // Reset or close: stop the helper as well before unwinding
+                helper.interrupt();
+                throw e;
+            }
+            if (failure[0] != null) throw failure[0];
+        } else {
+            mergeSort(array, left, mid);
+            mergeSort(array, mid + 1, right);
+        }
+        merge(array, left, mid, right);
+        repaint();
+        Thread.sleep(animationDelay);
+    }
+    
     // Heap sort implementation with animation
     @SuppressWarnings("BusyWait")
     private void heapSort() throws InterruptedException {
@@ -677,6 +773,142 @@ class SortingAnimationPanel extends JPanel implements Runnable {
         }
     }
 
+    // Dual-pivot introsort implementation with animation
+    private void introSort() throws InterruptedException {
+        if (array.length < 2) return;
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(array.length));
+        introSort(0, array.length - 1, depthLimit);
+    }
+    
+    // Partitions around two pivots until ranges are short or the depth limit is reached
+    private void introSort(int lo, int hi, int depth) throws InterruptedException {
+        while (hi - lo + 1 > SortAlgorithms.INTRO_INSERTION_CUTOFF) {
+            if (depth-- == 0) {
+                heapSortRange(lo, hi);
+                return;
+            }
+            
+            // Tertiles as pivots: smaller at lo, larger at hi
+            int third = (hi - lo) / 3;
+            animatedSwap(lo, lo + third);
+            animatedSwap(hi, hi - third);
+            if (array[lo] > array[hi]) animatedSwap(lo, hi);
+            int p = array[lo], q = array[hi];
+            
+            // Partition into < p | p..q | > q
+            int lt = lo + 1, gt = hi - 1, k = lo + 1;
+            while (k <= gt) {
+                checkPause();
+                currentIndex = k;
+                comparisonIndex = gt;
+                repaint();
+                Thread.sleep(animationDelay / 2);
+                
+                if (array[k] < p) {
+                    animatedSwap(k, lt++);
+                } else if (array[k] > q) {
+                    while (array[gt] > q && k < gt) gt--;
+                    animatedSwap(k, gt--);
+                    if (array[k] < p) animatedSwap(k, lt++);
+                }
+                k++;
+            }
+            animatedSwap(lo, --lt);
+            animatedSwap(hi, ++gt);
+            
+            introSort(lo, lt - 1, depth);
+            if (p != q) introSort(lt + 1, gt - 1, depth);
+            lo = gt + 1;
+        }
+        insertionSortRange(lo, hi);
+    }
+    
+    // Insertion sort of array[lo..hi] with animation
+    @SuppressWarnings("BusyWait")
+    private void insertionSortRange(int lo, int hi) throws InterruptedException {
+        for (int i = lo + 1; i <= hi; i++) {
+            int key = array[i], j = i - 1;
+            currentIndex = i;
+            while (j >= lo && array[j] > key) {
+                checkPause();
+                comparisonIndex = j;
+                array[j + 1] = array[j--];
+                repaint();
+                Thread.sleep(animationDelay);
+            }
+            array[j + 1] = key;
+        }
+    }
+    
+    // Heap sort of array[lo..hi] with animation, used as the introsort fallback
+    private void heapSortRange(int lo, int hi) throws InterruptedException {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) siftDownRange(lo, i, n);
+        for (int end = n - 1; end > 0; end--) {
+            animatedSwap(lo, lo + end);
+            siftDownRange(lo, 0, end);
+        }
+    }
+    
+    private void siftDownRange(int base, int i, int n) throws InterruptedException {
+        while (2 * i + 1 < n) {
+            int child = 2 * i + 1;
+            if (child + 1 < n && array[base + child + 1] > array[base + child]) child++;
+            if (array[base + child] <= array[base + i]) return;
+            animatedSwap(base + i, base + child);
+            i = child;
+        }
+    }
+    
+    // Swaps two elements and shows the swap
+    private void animatedSwap(int i, int j) throws InterruptedException {
+        checkPause();
+        currentIndex = i;
+        comparisonIndex = j;
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+        repaint();
+        Thread.sleep(animationDelay);
+    }
+
+    // LSD radix sort with animation; uses decimal digits so each bucket pass is easy to follow
+    @SuppressWarnings("BusyWait")
+    private void radixSort() throws InterruptedException {
+        int max = 0;
+        for (int value : array) max = Math.max(max, value);
+        
+        int[] count = new int[10];
+        for (int exp = 1, digit = 1; max / exp > 0; exp *= 10, digit++) {
+            phaseText = "Bucket pass on digit " + digit;
+            Arrays.fill(count, 0);
+            
+            // Histogram of the current digit
+            for (int i = 0; i < array.length; i++) {
+                checkPause();
+                currentIndex = i;
+                count[(array[i] / exp) % 10]++;
+                repaint();
+                Thread.sleep(animationDelay / 3);
+            }
+            
+            // Bucket start offsets
+            for (int b = 1; b < 10; b++) count[b] += count[b - 1];
+            
+            // Stable scatter into buckets, then write the pass result back
+            for (int i = array.length - 1; i >= 0; i--) {
+                tempArray[--count[(array[i] / exp) % 10]] = array[i];
+            }
+            for (int i = 0; i < array.length; i++) {
+                checkPause();
+                comparisonIndex = i;
+                array[i] = tempArray[i];
+                repaint();
+                Thread.sleep(animationDelay);
+            }
+        }
+    }
+
     // Paint the visualization of the sorting process
     @Override
     protected void paintComponent(Graphics g) {
@@ -735,8 +967,10 @@ class SortingAnimationPanel extends JPanel implements Runnable {
         // Draw algorithm title and status
         g2.setFont(titleFont);
         g2.setColor(textColor);
-        String title = selectedAlgorithm.toString();
-        if (isSorting) {
+        String title = selectedAlgorithm.getName();
+        if (isSorting && phaseText != null) {
+            title += " - " + phaseText;
+        } else if (isSorting) {
             title += " - Sorting in progress...";
         } else if (elapsedTime > 0) {
             title += String.format(" - Completed in %.2f seconds", elapsedTime / 1000.0);
@@ -1,212 +1,763 @@
 // Import modules
+import java.io.IOException;
 import java.text.DecimalFormat;
-import java.util.Random;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
 import javax.swing.SwingUtilities;
 import javax.swing.table.AbstractTableModel;
 
 class SortingTableModel extends AbstractTableModel {
+    // Engines shown as columns 1..n, in registry order
+    private final List<SortEngine> engines = SortEngineRegistry.getEngines();
+
     // Column names for the table
-    private final String[] columnNames = {
-        "Array Size", "Bubble Sort (ms)", "Selection Sort (ms)",
-        "Insertion Sort (ms)", "Merge Sort (ms)", "Heap Sort (ms)"
-    };
-
-    // Benchmark sizes and data storage
-    private static final int[] SIZES = {100, 1000, 10000, 100000};
-    private final Object[][] data = new Object[SIZES.length][columnNames.length];
-    private static final Random RAND = new Random();
+    private final String[] columnNames = buildColumnNames(engines);
+
+    // Benchmark sizes, input distributions and key types; per-cell state below is indexed
+    // [slice][row][col], with one slice per (key type, distribution) pair
+    private final SizeLadder ladder = SizeLadder.fromSystemProperties();
+    // Extra rows sorted over memory-mapped files by the engines that have a mapped variant, none
+    // unless asked for, e.g. -Dsorting.mappedSizes=100000000,1000000000; each cell writes a
+    // dataset, work and scratch file of 4 bytes per element to java.io.tmpdir
+    static final long[] MAPPED_SIZES = parseSizes(System.getProperty("sorting.mappedSizes", ""));
+    // Plain timed runs per mapped cell; a steady-state search is unaffordable at these sizes
+    static final int MAPPED_TRIALS = Integer.getInteger("sorting.mappedTrials", 3);
+    private final int rows = ladder.length() + MAPPED_SIZES.length;
+    private static final InputDistribution[] DISTRIBUTIONS = InputDistribution.values();
+    private static final KeyType[] KEY_TYPES = KeyType.values();
+    private static final int SLICES = KEY_TYPES.length * DISTRIBUTIONS.length;
+    // Results of each slice; every cell starts PENDING
+    private final ResultMatrix[] results = IntStream.range(0, SLICES)
+            .mapToObj(s -> new ResultMatrix(rows, columnNames.length))
+            .toArray(ResultMatrix[]::new);
+    // Cells loaded from a JMH results file; background runs must not overwrite them
+    private final boolean[][][] fromJmh = new boolean[SLICES][rows][columnNames.length];
+    // Seeded inputs and steady-state timing of every cell; each row sorts one identical input
+    private final CellBenchmark cells = new CellBenchmark(new TrialEngine(), DatasetCache.DEFAULT_SEED);
     private final DecimalFormat df = new DecimalFormat("#,##0.00");
 
-    // Executor for running long tasks in background
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    // Scheduler for running cells in background; replaced when the run options change
+    private BenchmarkScheduler scheduler = BenchmarkScheduler.fromSystemProperties();
+    // Bumped whenever a cell is rescheduled so stale results are dropped
+    private final int[][][] generations = new int[SLICES][rows][columnNames.length];
+    // How each cell was executed, e.g. "Shared (7 threads)" or "Isolated (CPU 3)"
+    private final String[][][] runInfo = new String[SLICES][rows][columnNames.length];
+    // Engine-reported facts about a cell's last sort (SortEngine.getRunDetails), or null
+    private final String[][][] runDetails = new String[SLICES][rows][columnNames.length];
+    // Operations of one instrumented sort of the cell's input, counted after it was timed, or null
+    private final OpCounts[][][] opCounts = new OpCounts[SLICES][rows][columnNames.length];
+    // Result columns whose engine has a counting sorter; each gets an ops column when shown
+    private final int[] opColumns = buildOpColumns(engines);
+    private boolean showOpCounts = false;
+    // Set while a graph plots operation counts
+    private boolean graphOpCounts = false;
+    // Cells are counted only while the counts are shown somewhere, so the instrumented sort never
+    // adds to a launch that does not look at them; read by cell threads
+    private volatile boolean countOperations = false;
+    // Adds one allocated-bytes-per-element column per engine, after any ops columns
+    private boolean showAllocation = false;
+    // Cancellation handles of queued and running cells; null once a cell has published
+    private final CellRun[][][] runs = new CellRun[SLICES][rows][columnNames.length];
+    // Measured cells are appended here for later launches to compare against; null if switched off
+    private final HistoryStore history = HistoryStore.openDefault();
+    // History run the cells scheduled now belong to; a new one starts whenever the run options change
+    private volatile long historyRunId = -1;
+    private volatile boolean historyFailed = false;
+    // Stored run the finished cells are tested against, and each cell's verdict; null without one
+    private RegressionGate regressionGate;
+    private long baselineRunId = -1;
+    private String baselineNote = "";
+    private final RegressionGate.Verdict[][][] verdicts =
+            new RegressionGate.Verdict[SLICES][rows][columnNames.length];
+
+    // Placeholder shown until a cell's benchmark starts
+    static final String PENDING = "Pending";
+    // Shown while a cell's benchmark runs
+    static final String RUNNING = "Running...";
+
+    // Cells predicted to take longer than this are not run but shown as a ProjectedTime,
+    // -Dsorting.cellBudgetMs
+    static final long CELL_BUDGET_MS = CellBenchmark.DEFAULT_BUDGET_MS;
+    // Mapped-row cells of engines without a mapped variant, or of distributions that cannot be mapped
+    static final String NOT_AVAILABLE = "N/A";
+    // Cells stopped from the table or by "Stop all"
+    static final String CANCELLED = "Cancelled";
+    // Cells still running after this long are stopped and show TIMED_OUT
+    static final long CELL_TIMEOUT_SEC = CellRun.DEFAULT_TIMEOUT_SEC;
+    static final String TIMED_OUT = "Timed out (>" + CELL_TIMEOUT_SEC + " s)";
+    // Cells whose sort threw
+    static final String ERROR = "Error";
+
+    private boolean started = false;
+    // Distribution and key type whose slice the table shows; others are only benchmarked once viewed
+    private InputDistribution distribution = InputDistribution.RANDOM;
+    private KeyType keyType = KeyType.INT;
+    private final boolean[] scheduled = new boolean[SLICES];
+
+    private static String[] buildColumnNames(List<SortEngine> engines) {
+        String[] names = new String[engines.size() + 1];
+        names[0] = "Array Size";
+        for (int i = 0; i < engines.size(); i++) names[i + 1] = engines.get(i).getName() + " (ms)";
+        return names;
+    }
+
+    private static int[] buildOpColumns(List<SortEngine> engines) {
+        return IntStream.range(0, engines.size())
+                .filter(i -> engines.get(i).getCountingSorter() != null)
+                .map(i -> i + 1)
+                .toArray();
+    }
+
+    private static long[] parseSizes(String list) {
+        if (list.trim().isEmpty()) return new long[0];
+        String[] parts = list.split(",");
+        long[] sizes = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) sizes[i] = Long.parseLong(parts[i].trim());
+        return sizes;
+    }
 
+    // Only holds placeholders; no benchmark runs until start() is called
     public SortingTableModel() {
-        for (int i = 0; i < SIZES.length; i++) {
-            int size = SIZES[i];
-            int[] baseArray = randArray(size);
-            data[i][0] = size;
-
-            // For small arrays, run all sorts directly
-            if (size <= 10000) {
-                data[i][1] = timeSort(baseArray.clone(), this::bubbleSort);
-                data[i][2] = timeSort(baseArray.clone(), this::selectionSort);
-                data[i][3] = timeSort(baseArray.clone(), this::insertionSort);
-            } else {
-                // For large arrays, run slow sorts in background
-                for (int col = 1; col <= 3; col++) {
-                    data[i][col] = "Running...";
-                    scheduleBenchmark(i, col);
-                }
+    }
+
+    // Queues every cell of the shown slice, cheapest first, so the table fills progressively
+    public void start() {
+        if (started) return;
+        started = true;
+        startHistoryRun();
+        scheduleSlice(shownSlice());
+    }
+
+    // Switches the shown distribution, benchmarking it the first time it is selected
+    public void setDistribution(InputDistribution newDistribution) {
+        if (newDistribution == distribution) return;
+        distribution = newDistribution;
+        showSlice();
+    }
+
+    public InputDistribution getDistribution() {
+        return distribution;
+    }
+
+    // Switches the shown key type, benchmarking it the first time it is selected
+    public void setKeyType(KeyType newKeyType) {
+        if (newKeyType == keyType) return;
+        keyType = newKeyType;
+        showSlice();
+    }
+
+    public KeyType getKeyType() {
+        return keyType;
+    }
+
+    private void showSlice() {
+        if (started && !scheduled[shownSlice()]) scheduleSlice(shownSlice());
+        fireTableDataChanged();
+    }
+
+    private int shownSlice() {
+        return sliceOf(keyType, distribution);
+    }
+
+    private static int sliceOf(KeyType keys, InputDistribution dist) {
+        return keys.ordinal() * DISTRIBUTIONS.length + dist.ordinal();
+    }
+
+    private static InputDistribution distributionOf(int s) {
+        return DISTRIBUTIONS[s % DISTRIBUTIONS.length];
+    }
+
+    private static KeyType keyTypeOf(int s) {
+        return KEY_TYPES[s / DISTRIBUTIONS.length];
+    }
+
+    // Replaces the scheduler and reruns every slice benchmarked so far
+    public void setScheduler(BenchmarkScheduler newScheduler) {
+        BenchmarkScheduler old = scheduler;
+        scheduler = newScheduler;
+        old.shutdown();
+        if (!started) return;
+        startHistoryRun();
+        scheduleSlice(shownSlice());
+        for (int s = 0; s < SLICES; s++) {
+            if (s != shownSlice() && scheduled[s]) scheduleSlice(s);
+        }
+    }
+
+    public long getSeed() {
+        return cells.getSeed();
+    }
+
+    public BenchmarkScheduler getScheduler() {
+        return scheduler;
+    }
+
+    // Sizes of the in-memory rows, which come first in the table
+    public SizeLadder getSizeLadder() {
+        return ladder;
+    }
+
+    // Each column runs its sizes in ascending order, one cell at a time, so every cell can be
+    // predicted from the ones below it; O(n log n) columns are started first
+    private void scheduleSlice(int s) {
+        scheduled[s] = true;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 1; col < columnNames.length; col++) {
+                if (fromJmh[s][row][col]) continue;
+                cancelRun(s, row, col); // A rerun replaces whatever the cell was doing
+                ++generations[s][row][col]; // Drops results of a chain started before this one
+                results[s].set(row, col, ResultMatrix.Status.PENDING);
+                runInfo[s][row][col] = null;
+                runDetails[s][row][col] = null;
+                opCounts[s][row][col] = null;
+                verdicts[s][row][col] = null;
             }
+        }
+        if (s == shownSlice()) fireTableDataChanged();
 
-            // Always run merge and heap sorts directly
-            data[i][4] = timeSort(baseArray.clone(), this::mergeSort);
-            data[i][5] = timeSort(baseArray.clone(), this::heapSort);
+        for (int col = 1; col < columnNames.length; col++) {
+            if (!engines.get(col - 1).isQuadratic()) continueColumn(s, 0, col);
+        }
+        for (int col = 1; col < columnNames.length; col++) {
+            if (engines.get(col - 1).isQuadratic()) continueColumn(s, 0, col);
         }
     }
 
-    // Schedules slow sorts (bubble, selection, insertion) in background
-    private void scheduleBenchmark(int row, int col) {
-        executor.submit(() -> {
-            Object result;
-            try {
-                result = runBenchmark(row, col);
-            } catch (Exception e) {
-                result = "Error";
+    // Schedules the column's next in-memory row from `row` on; once a row is predicted to blow
+    // the cell budget, it and every larger row are filled with projections instead
+    private void continueColumn(int s, int row, int col) {
+        if (!keyTypeOf(s).supports(engines.get(col - 1))) {
+            // The engine cannot sort these keys at any size
+            for (int r = row; r < rows; r++) {
+                results[s].set(r, col, ResultMatrix.Status.NOT_AVAILABLE);
+                cellChanged(s, r, col);
             }
-            Object finalResult = result;
-            SwingUtilities.invokeLater(() -> {
-                data[row][col] = finalResult;
-                fireTableCellUpdated(row, col);
-            });
-        });
+            return;
+        }
+        for (; row < ladder.length(); row++) {
+            if (fromJmh[s][row][col]) continue;
+            ProjectedTime projection = project(s, row, col);
+            if (projection == null || cells.getTrialEngine().estimateCellMs(projection.getMs()) <= CELL_BUDGET_MS) {
+                scheduleBenchmark(s, row, col);
+                return;
+            }
+            for (int r = row; r < ladder.length(); r++) {
+                if (fromJmh[s][r][col]) continue;
+                results[s].setProjected(r, col, project(s, r, col));
+                cellChanged(s, r, col);
+            }
+            break;
+        }
+        scheduleMappedRows(s, col);
+    }
+
+    // Mapped rows come after the column's ladder; each one takes minutes and a lot of disk bandwidth,
+    // so they run one at a time on the isolated path. Mapped datasets hold ints, so other key types
+    // have none.
+    private void scheduleMappedRows(int s, int col) {
+        for (int row = ladder.length(); row < rows; row++) {
+            if (engines.get(col - 1).getMappedSorter() != null && keyTypeOf(s) == KeyType.INT
+                    && MappedDatasetStore.supports(distributionOf(s))) {
+                scheduleBenchmark(s, row, col);
+            } else {
+                results[s].set(row, col, ResultMatrix.Status.NOT_AVAILABLE);
+                cellChanged(s, row, col);
+            }
+        }
     }
 
-    // Runs benchmark for the specific sort algorithm
-    public Object runBenchmark(int row, int col) {
-        if (row < 0 || row >= data.length || col <= 0 || col >= columnNames.length) {
-            return "Error";
+    // Single-sort time predicted from the column's two largest measured rows below `row`;
+    // null if nothing was measured
+    private ProjectedTime project(int s, int row, int col) {
+        int hi = -1, lo = -1;
+        for (int r = row - 1; r >= 0 && lo < 0; r--) {
+            if (results[s].status(r, col) != ResultMatrix.Status.MEASURED) continue;
+            if (hi < 0) hi = r;
+            else lo = r;
         }
+        if (hi < 0) return null;
+
+        double tHi = results[s].mean(hi, col);
+        double tLo = lo >= 0 ? results[s].mean(lo, col) : 0;
+        return ProjectedTime.extrapolate(ladder.get(hi), tHi, lo >= 0 ? ladder.get(lo) : 0, tLo, ladder.get(row),
+                engines.get(col - 1).isQuadratic() ? 2.0 : 1.0);
+    }
 
-        int size = (int) data[row][0];
-        int[] array = randArray(size);
+    // Runs one cell in the background and publishes its result on the EDT
+    private void scheduleBenchmark(int s, int row, int col) {
+        cancelRun(s, row, col);
+        int generation = ++generations[s][row][col];
+        results[s].set(row, col, ResultMatrix.Status.PENDING);
+        runInfo[s][row][col] = null;
+        runDetails[s][row][col] = null;
+        opCounts[s][row][col] = null;
+        verdicts[s][row][col] = null;
+        cellChanged(s, row, col);
+        CellRun run = new CellRun();
+        runs[s][row][col] = run;
+        long historyRun = historyRunId;
 
-        switch (col) {
-            case 1: return timeSort(array, this::bubbleSort);
-            case 2: return timeSort(array, this::selectionSort);
-            case 3: return timeSort(array, this::insertionSort);
-            case 4: return timeSort(array, this::mergeSort);
-            case 5: return timeSort(array, this::heapSort);
-            default: return "Error";
+        scheduler.submit((mode, detail) -> {
+            if (!run.begin(CELL_TIMEOUT_SEC * 1000)) return; // Cancelled while queued
+            publish(s, row, col, generation, ResultMatrix.Status.RUNNING, null, null, null, null, false);
+            CellBenchmark.Result cell = runBenchmark(distributionOf(s), keyTypeOf(s), row, col);
+            ResultMatrix.Status status = cell.stats != null ? ResultMatrix.Status.MEASURED : ResultMatrix.Status.ERROR;
+            TrialStats stats = cell.stats;
+            OpCounts counts = cell.counts;
+            // A stopped sort surfaces as an exception or error wherever it was; report why instead
+            CellRun.Stop stop = run.getStop();
+            if (stop != null) {
+                status = stop == CellRun.Stop.TIMED_OUT ? ResultMatrix.Status.TIMED_OUT : ResultMatrix.Status.CANCELLED;
+                stats = null;
+                counts = null;
+            }
+            run.end();
+            if (stats != null) recordHistory(historyRun, s, row, col, stats);
+            publish(s, row, col, generation, status, stats, mode + " (" + detail + ")", cell.details, counts, true);
+        }, isMappedRow(row));
+    }
+
+    // A finished in-memory cell hands over to the next size of its column
+    private void publish(int s, int row, int col, int generation, ResultMatrix.Status status, TrialStats stats,
+                         String info, String details, OpCounts counts, boolean finished) {
+        SwingUtilities.invokeLater(() -> {
+            if (fromJmh[s][row][col]) return; // Keep the steady-state JMH number
+            if (generations[s][row][col] != generation) return; // Superseded by a rerun
+            if (stats != null) results[s].setMeasured(row, col, stats);
+            else results[s].set(row, col, status);
+            runInfo[s][row][col] = info;
+            runDetails[s][row][col] = details;
+            opCounts[s][row][col] = counts;
+            verdicts[s][row][col] = verdictOf(s, row, col);
+            if (finished) runs[s][row][col] = null;
+            cellChanged(s, row, col);
+            if (finished) scheduleCount(s, row, col); // Counting was switched on while it ran
+            if (finished && !isMappedRow(row)) {
+                if (status == ResultMatrix.Status.CANCELLED || status == ResultMatrix.Status.TIMED_OUT) {
+                    stopColumn(s, row + 1, col);
+                }
+                else continueColumn(s, row + 1, col);
+            }
+        });
+    }
+
+    // After a stopped cell, the column's larger in-memory rows would only take longer, so they
+    // get projections (or N/A without measurements) and the column moves on to its mapped rows
+    private void stopColumn(int s, int row, int col) {
+        for (int r = row; r < ladder.length(); r++) {
+            if (fromJmh[s][r][col]) continue;
+            ProjectedTime projection = project(s, r, col);
+            if (projection != null) results[s].setProjected(r, col, projection);
+            else results[s].set(r, col, ResultMatrix.Status.NOT_AVAILABLE);
+            cellChanged(s, r, col);
         }
+        scheduleMappedRows(s, col);
     }
 
-    // Generates a random integer array
-    private int[] randArray(int n) {
-        int[] arr = new int[n];
-        for (int i = 0; i < n; i++) arr[i] = RAND.nextInt();
-        return arr;
+    private void startHistoryRun() {
+        if (history == null) return;
+        try {
+            historyRunId = history.newRunId();
+        } catch (IOException e) {
+            historyFailure(e);
+        }
     }
 
-    // Measures the time (in ms) to sort an array with the given sorter
-    private Object timeSort(int[] arr, Sorter sorter) {
+    // Called on the cell's thread; mapped rows are a different measurement, so they are kept
+    // apart under "<id>@mapped"
+    private void recordHistory(long runId, int s, int row, int col, TrialStats stats) {
+        if (history == null || runId < 0 || historyFailed) return;
         try {
-            long start = System.nanoTime();
-            sorter.sort(arr);
-            double timeMs = (System.nanoTime() - start) / 1_000_000.0;
-            return timeMs;
-        } catch (Exception e) {
-            return "Error";
+            history.record(runId, distributionOf(s), historyAlgorithm(s, row, col), sizeOf(row), stats);
+        } catch (IOException e) {
+            historyFailure(e);
         }
     }
 
-    @Override public int getRowCount() { return data.length; }
-    @Override public int getColumnCount() { return columnNames.length; }
-    @Override public String getColumnName(int col) { return columnNames[col]; }
+    // Engine id a cell is kept under in the history, with its key type (see KeyType.historyId)
+    private String historyAlgorithm(int s, int row, int col) {
+        return keyTypeOf(s).historyId(engines.get(col - 1).getId()) + (isMappedRow(row) ? "@mapped" : "");
+    }
 
-    // Formats table values for display
-    @Override
-    public Object getValueAt(int row, int col) {
-        if (col == 0) {
-            int size = (int) data[row][col];
-            return df.format(size);
+    private long sizeOf(int row) {
+        return isMappedRow(row) ? MAPPED_SIZES[row - ladder.length()] : ladder.get(row);
+    }
+
+    // Reported once; the benchmark goes on without history
+    private void historyFailure(IOException e) {
+        if (historyFailed) return;
+        historyFailed = true;
+        System.err.println("Could not record benchmark history in " + history.getDir() + ": " + e.getMessage());
+    }
+
+    // Store of earlier launches' results, or null if history is switched off
+    public HistoryStore getHistory() {
+        return history;
+    }
+
+    // History run of the current results, so views can leave it out of "past" runs; -1 if none
+    public long getHistoryRunId() {
+        return historyRunId;
+    }
+
+    // Tests finished cells, now and as they arrive, against a stored run; a negative id clears it
+    public void setBaseline(long runId) throws IOException {
+        if (runId < 0 || history == null) {
+            regressionGate = null;
+            baselineRunId = -1;
+            baselineNote = "";
+        } else {
+            List<HistoryStore.Entry> baseline = history.loadRun(runId);
+            regressionGate = new RegressionGate(baseline);
+            baselineRunId = runId;
+            baselineNote = RegressionGate.environmentNote(history, baseline, EnvironmentFingerprint.current().getId());
         }
-        Object value = data[row][col];
-        if (value instanceof Double) {
-            return df.format((Double) value);
+        for (int s = 0; s < SLICES; s++) {
+            for (int row = 0; row < rows; row++) {
+                for (int col = 1; col < columnNames.length; col++) verdicts[s][row][col] = verdictOf(s, row, col);
+            }
         }
-        return value;
+        fireTableDataChanged();
     }
 
-    @Override
-    public Class<?> getColumnClass(int columnIndex) {
-        // Treat all columns as String for rendering consistency
-        return String.class;
+    public long getBaselineRunId() {
+        return baselineRunId;
     }
 
-    public Object[][] getData() {
-        return data;
+    // Only cells measured in this launch carry samples to test; JMH scores are summaries
+    private RegressionGate.Verdict verdictOf(int s, int row, int col) {
+        TrialStats stats = results[s].stats(row, col);
+        if (regressionGate == null || fromJmh[s][row][col] || stats == null) return null;
+        double[] samples = stats.getSamples();
+        if (samples.length == 0) return null;
+        return regressionGate.test(distributionOf(s), historyAlgorithm(s, row, col), sizeOf(row), samples);
     }
 
-    public void shutdown() {
-        executor.shutdown();
+    // Verdict of a finished cell of the shown slice against the baseline, or null
+    public RegressionGate.Verdict getVerdict(int row, int col) {
+        return getVerdict(distribution, row, col);
     }
 
-    // Sorter functional interface
-    private interface Sorter { void sort(int[] a); }
-
-    // Bubble Sort
-    private void bubbleSort(int[] a) {
-        for (int i = 0; i < a.length - 1; i++) {
-            boolean swapped = false;
-            for (int j = 0; j < a.length - i - 1; j++) {
-                if (a[j] > a[j + 1]) {
-                    int tmp = a[j]; a[j] = a[j + 1]; a[j + 1] = tmp;
-                    swapped = true;
+    public RegressionGate.Verdict getVerdict(InputDistribution dist, int row, int col) {
+        return col > 0 && !isExtraColumn(col) ? verdicts[sliceOf(keyType, dist)][row][col] : null;
+    }
+
+    // Report over every cell with a verdict so far, or null without a baseline
+    public String getRegressionReport() {
+        if (regressionGate == null) return null;
+        List<RegressionGate.Verdict> all = new ArrayList<>();
+        for (int s = 0; s < SLICES; s++) {
+            for (int row = 0; row < rows; row++) {
+                for (int col = 1; col < columnNames.length; col++) {
+                    if (verdicts[s][row][col] != null) all.add(verdicts[s][row][col]);
                 }
             }
-            if (!swapped) break;
         }
+        return baselineNote + regressionGate.report(all);
+    }
+
+    // True if the cell of the shown slice is queued or running and can be cancelled
+    public boolean isCancellable(int row, int col) {
+        return col > 0 && !isExtraColumn(col) && runs[shownSlice()][row][col] != null;
+    }
+
+    // Cancels one cell of the shown slice. A running cell stops at its sort's next check
+    // and then reports itself; a queued one is marked at once. Returns false if nothing was pending.
+    public boolean cancelCell(int row, int col) {
+        if (!isCancellable(row, col)) return false;
+        int s = shownSlice();
+        CellRun run = runs[s][row][col];
+        run.cancel(CellRun.Stop.CANCELLED);
+        if (results[s].status(row, col) == ResultMatrix.Status.PENDING) {
+            // Not started: it will never publish, so do it here
+            ++generations[s][row][col];
+            runs[s][row][col] = null;
+            results[s].set(row, col, ResultMatrix.Status.CANCELLED);
+            cellChanged(s, row, col);
+            if (!isMappedRow(row)) stopColumn(s, row + 1, col);
+        }
+        return true;
+    }
+
+    // Queues one instrumented sort for a measured in-memory cell that has no counts yet, while
+    // counts are shown; it is cancelled and dropped like the cell's own run
+    private void scheduleCount(int s, int row, int col) {
+        if (!countOperations || isMappedRow(row) || keyTypeOf(s) != KeyType.INT || fromJmh[s][row][col]
+                || engines.get(col - 1).getCountingSorter() == null || opCounts[s][row][col] != null
+                || runs[s][row][col] != null || results[s].status(row, col) != ResultMatrix.Status.MEASURED) return;
+        int generation = generations[s][row][col];
+        CellRun run = new CellRun();
+        runs[s][row][col] = run;
+
+        scheduler.submit((mode, detail) -> {
+            if (!run.begin(CELL_TIMEOUT_SEC * 1000)) return; // Cancelled while queued
+            // Hidden again before its turn: skip, a later switch-on queues the cell again
+            OpCounts counts = countOperations
+                    ? cells.count(distributionOf(s), ladder.get(row), engines.get(col - 1)) : null;
+            if (run.getStop() != null) counts = null;
+            run.end();
+            OpCounts result = counts;
+            SwingUtilities.invokeLater(() -> {
+                if (runs[s][row][col] == run) runs[s][row][col] = null;
+                if (generations[s][row][col] != generation || result == null) return;
+                opCounts[s][row][col] = result;
+                cellChanged(s, row, col);
+            });
+        });
+    }
+
+    // Starts or stops counting as the ops columns and the graph's count metrics come and go;
+    // switching on counts the cells measured so far, shown slice first
+    private void updateCounting() {
+        boolean count = showOpCounts || graphOpCounts;
+        if (count == countOperations) return;
+        countOperations = count;
+        if (!count) return;
+        for (int i = 0; i < SLICES; i++) {
+            int s = (shownSlice() + i) % SLICES;
+            for (int row = 0; row < rows; row++) {
+                for (int col = 1; col < columnNames.length; col++) scheduleCount(s, row, col);
+            }
+        }
+    }
+
+    // Stops every queued and running cell of every slice; Re-run schedules them again
+    public void stopAll() {
+        BenchmarkScheduler old = scheduler;
+        scheduler = new BenchmarkScheduler(old.getMode(), old.getParallelism(), old.getIsolatedCpu());
+        for (int s = 0; s < SLICES; s++) {
+            for (int row = 0; row < rows; row++) {
+                for (int col = 1; col < columnNames.length; col++) {
+                    cancelRun(s, row, col);
+                    ResultMatrix.Status status = results[s].status(row, col);
+                    if (fromJmh[s][row][col]
+                            || !(status == ResultMatrix.Status.PENDING || status == ResultMatrix.Status.RUNNING)) continue;
+                    ++generations[s][row][col]; // Late results of stopped cells are dropped
+                    results[s].set(row, col, ResultMatrix.Status.CANCELLED);
+                }
+            }
+        }
+        old.shutdown();
+        Arrays.fill(scheduled, false); // Viewing a slice again reschedules it
+        fireTableDataChanged();
+    }
+
+    private void cancelRun(int s, int row, int col) {
+        CellRun run = runs[s][row][col];
+        if (run == null) return;
+        run.cancel(CellRun.Stop.CANCELLED);
+        runs[s][row][col] = null;
+    }
+
+    // Only the shown slice has table rows to update
+    private void cellChanged(int s, int row, int col) {
+        if (s != shownSlice()) return;
+        if (getColumnCount() > columnNames.length) fireTableRowsUpdated(row, row); // Extra columns follow the cell
+        else fireTableCellUpdated(row, col);
+    }
+
+    // Returns how a finished cell of the shown slice was executed, or null if it has not run yet
+    public String getRunInfo(int row, int col) {
+        return runInfo[shownSlice()][row][col];
+    }
+
+    // Engine-reported details of a finished cell of the shown slice, or null
+    public String getRunDetails(int row, int col) {
+        return runDetails[shownSlice()][row][col];
+    }
+
+    // Operation counts of a finished cell of the shown slice; col may be a result
+    // column or its ops column. Null if not counted (yet).
+    public OpCounts getOpCounts(int row, int col) {
+        return opCounts[shownSlice()][row][isOpCountColumn(col) ? resultColumnOf(col) : col];
+    }
+
+    // Operation counts of one cell of a distribution with the shown keys, [row][col] as in getResults(dist)
+    public OpCounts getOpCounts(InputDistribution dist, int row, int col) {
+        return opCounts[sliceOf(keyType, dist)][row][col];
+    }
+
+    // Shows or hides one "<engine> ops" column per counting engine after the time columns
+    public void setShowOpCounts(boolean show) {
+        if (show == showOpCounts) return;
+        showOpCounts = show;
+        updateCounting();
+        fireTableStructureChanged();
+    }
+
+    // Called by a graph as it starts or stops plotting operation counts
+    public void setGraphOpCounts(boolean shown) {
+        graphOpCounts = shown;
+        updateCounting();
+    }
+
+    public boolean isShowOpCounts() {
+        return showOpCounts;
+    }
+
+    // Shows or hides one "<engine> alloc" column per engine after the time and ops columns
+    public void setShowAllocation(boolean show) {
+        if (show == showAllocation) return;
+        showAllocation = show;
+        fireTableStructureChanged();
+    }
+
+    public boolean isShowAllocation() {
+        return showAllocation;
+    }
+
+    // True for any column appended after the time columns
+    public boolean isExtraColumn(int col) {
+        return col >= columnNames.length;
+    }
+
+    // True for the ops columns appended while op counts are shown
+    public boolean isOpCountColumn(int col) {
+        return isExtraColumn(col) && col < columnNames.length + shownOpColumns();
+    }
+
+    // True for the allocation columns appended while allocation is shown
+    public boolean isAllocationColumn(int col) {
+        return col >= columnNames.length + shownOpColumns();
+    }
+
+    // Result column that an ops or allocation column describes
+    public int resultColumnOf(int extraCol) {
+        int i = extraCol - columnNames.length;
+        return i < shownOpColumns() ? opColumns[i] : i - shownOpColumns() + 1;
+    }
+
+    private int shownOpColumns() {
+        return showOpCounts ? opColumns.length : 0;
+    }
+
+    // Runs benchmark for the specific sort algorithm on the given input distribution and keys
+    public CellBenchmark.Result runBenchmark(InputDistribution dist, KeyType keys, int row, int col) {
+        if (row < 0 || row >= rows || col <= 0 || col >= columnNames.length) {
+            return new CellBenchmark.Result(null, null, null);
+        }
+        SortEngine engine = engines.get(col - 1);
+        if (isMappedRow(row)) return cells.runMapped(dist, MAPPED_SIZES[row - ladder.length()], engine, MAPPED_TRIALS);
+        return cells.run(dist, ladder.get(row), keys, engine, countOperations);
     }
 
-    // Selection Sort
-    private void selectionSort(int[] a) {
-        for (int i = 0; i < a.length - 1; i++) {
-            int min = i;
-            for (int j = i + 1; j < a.length; j++) if (a[j] < a[min]) min = j;
-            int tmp = a[i]; a[i] = a[min]; a[min] = tmp;
+    // True for the extra rows that are sorted over memory-mapped files
+    public boolean isMappedRow(int row) {
+        return row >= ladder.length();
+    }
+
+    // Replaces matching cells with JMH scores; returns how many cells were updated
+    public int applyJmhResults(List<JmhResultLoader.Result> jmhResults) {
+        int applied = 0;
+        for (JmhResultLoader.Result result : jmhResults) {
+            int row = ladder.indexOf(result.size);
+            int col = columnForSorter(result.algorithm);
+            if (row < 0 || col < 0) continue;
+
+            int s = sliceOf(KeyType.INT, result.distribution); // JMH benchmarks sort int[]
+            results[s].setMeasured(row, col, TrialStats.ofSummary(result.scoreMs, result.errorMs));
+            fromJmh[s][row][col] = true;
+            verdicts[s][row][col] = null; // A summary has no samples to test
+            applied++;
         }
+        fireTableDataChanged();
+        return applied;
     }
 
-    // Insertion Sort
-    private void insertionSort(int[] a) {
-        for (int i = 1; i < a.length; i++) {
-            int key = a[i], j = i - 1;
-            while (j >= 0 && a[j] > key) a[j + 1] = a[j--];
-            a[j + 1] = key;
+    private int columnForSorter(String id) {
+        for (int col = 1; col < columnNames.length; col++) {
+            if (engines.get(col - 1).getId().equals(id)) return col;
         }
+        return -1;
     }
 
-    // Merge Sort
-    private void mergeSort(int[] a) {
-        mergeSort(a, new int[a.length], 0, a.length - 1);
+    // Engine behind a result column (col >= 1)
+    public SortEngine getEngine(int col) {
+        return engines.get(col - 1);
     }
 
-    private void mergeSort(int[] a, int[] tmp, int l, int r) {
-        if (l >= r) return;
-        int m = (l + r) / 2;
-        mergeSort(a, tmp, l, m);
-        mergeSort(a, tmp, m + 1, r);
-        merge(a, tmp, l, m, r);
+    @Override public int getRowCount() { return rows; }
+    @Override
+    public int getColumnCount() {
+        return columnNames.length + shownOpColumns() + (showAllocation ? engines.size() : 0);
     }
 
-    private void merge(int[] a, int[] tmp, int l, int m, int r) {
-        int i = l, j = m + 1, k = l;
-        while (i <= m && j <= r) tmp[k++] = a[i] <= a[j] ? a[i++] : a[j++];
-        while (i <= m) tmp[k++] = a[i++];
-        while (j <= r) tmp[k++] = a[j++];
-        System.arraycopy(tmp, l, a, l, r - l + 1);
+    @Override
+    public String getColumnName(int col) {
+        if (isOpCountColumn(col)) return engines.get(resultColumnOf(col) - 1).getName() + " ops / n log n";
+        if (isAllocationColumn(col)) return engines.get(resultColumnOf(col) - 1).getName() + " (B/elem)";
+        return columnNames[col];
     }
 
-    // Heap Sort
-    private void heapSort(int[] a) {
-        int n = a.length;
-        for (int i = n / 2 - 1; i >= 0; i--) heapify(a, n, i);
-        for (int i = n - 1; i > 0; i--) {
-            int tmp = a[0]; a[0] = a[i]; a[i] = tmp;
-            heapify(a, i, 0);
+    // Formats table values of the shown slice for display
+    @Override
+    public Object getValueAt(int row, int col) {
+        ResultMatrix.Snapshot slice = getResults();
+        if (col == 0) {
+            return isMappedRow(row) ? df.format(sizeOf(row)) + " (mapped)" : df.format(sizeOf(row));
+        }
+        if (isOpCountColumn(col)) {
+            if (isMappedRow(row)) return NOT_AVAILABLE;
+            OpCounts counts = getOpCounts(row, col);
+            if (counts == null) return slice.isProjected(row, resultColumnOf(col)) ? NOT_AVAILABLE : "";
+            // Each count per n log2 n: comparisons, swaps, reads, writes
+            return String.format("C %.2f  S %.2f  R %.2f  W %.2f", counts.perNLogN(0), counts.perNLogN(1),
+                    counts.perNLogN(2), counts.perNLogN(3));
+        }
+        if (isAllocationColumn(col)) {
+            TrialStats stats = slice.stats(row, resultColumnOf(col));
+            RunResources resources = stats != null ? stats.getResources() : null;
+            if (resources == null || Double.isNaN(resources.getBytesPerElement())) {
+                return isMappedRow(row) || slice.isProjected(row, resultColumnOf(col)) ? NOT_AVAILABLE : "";
+            }
+            return df.format(resources.getBytesPerElement());
+        }
+        switch (slice.status(row, col)) {
+            case MEASURED:
+                // Mean with the half-width of its 95% confidence interval
+                TrialStats stats = slice.stats(row, col);
+                String text = df.format(stats.getMean()) + " \u00b1 " + df.format(stats.getHalfWidth());
+                // Marks means that include trials a garbage collection landed in
+                RunResources resources = stats.getResources();
+                return resources != null && resources.getFlaggedTrials() > 0 ? text + " (GC)" : text;
+            case PROJECTED: return "~" + df.format(slice.mean(row, col)) + " (projected)";
+            case PENDING: return PENDING;
+            case RUNNING: return RUNNING;
+            case NOT_AVAILABLE: return NOT_AVAILABLE;
+            case CANCELLED: return CANCELLED;
+            case TIMED_OUT: return TIMED_OUT;
+            default: return ERROR;
         }
     }
 
-    private void heapify(int[] a, int n, int i) {
-        int largest = i, l = 2 * i + 1, r = 2 * i + 2;
-        if (l < n && a[l] > a[largest]) largest = l;
-        if (r < n && a[r] > a[largest]) largest = r;
-        if (largest != i) {
-            int tmp = a[i]; a[i] = a[largest]; a[largest] = tmp;
-            heapify(a, n, largest);
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        // Treat all columns as String for rendering consistency
+        return String.class;
+    }
+
+    // Consistent view of the shown slice's results, [row][col]; one per repaint
+    public ResultMatrix.Snapshot getResults() {
+        return results[shownSlice()].snapshot();
+    }
+
+    // Consistent view of one distribution's results with the shown keys, [row][col]
+    public ResultMatrix.Snapshot getResults(InputDistribution dist) {
+        return results[sliceOf(keyType, dist)].snapshot();
+    }
+
+    // Stops running sorts as well as queued cells, so no core keeps sorting after the window closes
+    public void shutdown() {
+        for (int s = 0; s < SLICES; s++) {
+            for (int row = 0; row < rows; row++) {
+                for (int col = 1; col < columnNames.length; col++) cancelRun(s, row, col);
+            }
         }
+        scheduler.shutdown();
     }
-}
\ No newline at end of file
+
+    // Sorter functional interface
+    interface Sorter { void sort(int[] a); }
+}
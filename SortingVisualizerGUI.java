@@ -1,6 +1,12 @@
 // Import modules
 import java.awt.*;
 import java.awt.event.*;
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableCellRenderer;
@@ -15,6 +21,15 @@ public class SortingVisualizerGUI extends JFrame {
     private static final Color ALTERNATE_ROW_COLOR = new Color(240, 247, 255);
     private static final Color RUNNING_COLOR = new Color(0, 150, 136);
     private static final Color SUBTITLE_COLOR = new Color(100, 120, 140);
+    private static final Color WARNING_COLOR = new Color(230, 120, 0);
+    private static final Color REGRESSION_COLOR = new Color(183, 28, 28);
+    private static final Color REGRESSION_BACKGROUND = new Color(255, 205, 210);
+
+    // Startup timing: measured from class initialisation to the first painted frame
+    private static final long LAUNCH_NANOS = System.nanoTime();
+    private static final long FIRST_FRAME_TARGET_MS = 200;
+    private long firstFrameMs = -1;
+    private JLabel firstFrameLabel;
     
     // Panel for displaying benchmark data in graph form
     private BenchmarkGraphPanel graphPanel;
@@ -30,8 +45,13 @@ public class SortingVisualizerGUI extends JFrame {
         setLocationRelativeTo(null);
         setBackground(BACKGROUND_COLOR);
 
-        // Ensure executor service is shut down properly when closing the application
+        // Start benchmarks once the window is up and shut the executor down on close
         addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                model.start();
+            }
+
             @Override
             public void windowClosing(WindowEvent e) {
                 if (model != null) {
@@ -40,24 +60,30 @@ public class SortingVisualizerGUI extends JFrame {
             }
         });
 
-        // Create main content panel with padding
-        JPanel contentPane = new JPanel(new BorderLayout());
+        // Create main content panel with padding; its first paint marks time-to-first-frame
+        JPanel contentPane = new JPanel(new BorderLayout()) {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                if (firstFrameMs < 0) recordFirstFrame();
+            }
+        };
         contentPane.setBackground(BACKGROUND_COLOR);
         contentPane.setBorder(new EmptyBorder(15, 15, 15, 15));
         setContentPane(contentPane);
 
-        // Initialize model and create benchmark table
+        // Initialize model with placeholders only; benchmarks start when the window opens
         model = new SortingTableModel();
         JTable benchmarkTable = createStyledTable(model);
 
         // Initialize visualization components
-        graphPanel = new BenchmarkGraphPanel(model.getData());
+        graphPanel = new BenchmarkGraphPanel(model);
         SortingAnimationPanel animationPanel = new SortingAnimationPanel();
 
         // Create container for benchmark table and its info panel
         JPanel tablePanel = new JPanel(new BorderLayout());
         tablePanel.setBackground(BACKGROUND_COLOR);
-        tablePanel.add(createTableInfoPanel(), BorderLayout.NORTH);
+        tablePanel.add(createTableInfoPanel(benchmarkTable), BorderLayout.NORTH);
         tablePanel.add(new JScrollPane(benchmarkTable), BorderLayout.CENTER);
 
         // Set up timer for periodic graph updates
@@ -97,9 +123,35 @@ public class SortingVisualizerGUI extends JFrame {
         // Adjust column widths for better content display
         adjustColumnWidths(table);
 
+        // Right-click a queued or running cell to cancel it
+        addCancelMenu(table);
+
         return table;
     }
     
+    // Popup with a cancel action for the cell under the pointer
+    private void addCancelMenu(JTable table) {
+        JPopupMenu menu = new JPopupMenu();
+        JMenuItem cancelItem = new JMenuItem("Cancel this cell");
+        menu.add(cancelItem);
+        int[] target = new int[2];
+        cancelItem.addActionListener(e -> model.cancelCell(target[0], target[1]));
+
+        table.addMouseListener(new MouseAdapter() {
+            @Override public void mousePressed(MouseEvent e) { maybeShow(e); }
+            @Override public void mouseReleased(MouseEvent e) { maybeShow(e); }
+
+            private void maybeShow(MouseEvent e) {
+                if (!e.isPopupTrigger()) return;
+                target[0] = table.rowAtPoint(e.getPoint());
+                target[1] = table.columnAtPoint(e.getPoint());
+                if (target[0] < 0 || target[1] < 0) return;
+                cancelItem.setEnabled(model.isCancellable(target[0], target[1]));
+                menu.show(table, e.getX(), e.getY());
+            }
+        });
+    }
+
     // Styles the table header with appropriate colors and fonts
     private void styleTableHeader(JTable table) {
         JTableHeader header = table.getTableHeader();
@@ -131,8 +183,13 @@ public class SortingVisualizerGUI extends JFrame {
                 // Center-align all cell contents
                 setHorizontalAlignment(SwingConstants.CENTER);
 
+                // Result cells are styled by status; sizes and extra columns have none
+                ResultMatrix.Snapshot results = model.getResults();
+                ResultMatrix.Status status = column == 0 || model.isExtraColumn(column) ? null
+                        : results.status(row, column);
+
                 // Handle special "Running..." animation
-                if (value != null && value.toString().startsWith("Running")) {
+                if (status == ResultMatrix.Status.RUNNING) {
                     c.setForeground(RUNNING_COLOR);
                     c.setFont(new Font("Segoe UI", Font.BOLD, 13));
 
@@ -140,40 +197,290 @@ public class SortingVisualizerGUI extends JFrame {
                     String dots = ".".repeat((dotCount % 3) + 1);
                     dotCount++;
                     setText("Running" + dots);
+                } else if (status == ResultMatrix.Status.TIMED_OUT) {
+                    c.setForeground(WARNING_COLOR);
+                    c.setFont(new Font("Segoe UI", Font.ITALIC, 13));
+                } else if (status == ResultMatrix.Status.PENDING || status == ResultMatrix.Status.NOT_AVAILABLE
+                        || status == ResultMatrix.Status.CANCELLED || status == ResultMatrix.Status.PROJECTED
+                        || SortingTableModel.NOT_AVAILABLE.equals(value)) {
+                    // Queued, unavailable and projected cells are shown as muted placeholders
+                    c.setForeground(SUBTITLE_COLOR);
+                    c.setFont(new Font("Segoe UI", Font.ITALIC, 13));
+                } else if (value != null && value.toString().endsWith(" (GC)")) {
+                    // A collection landed in trials that had to be kept for the mean
+                    c.setForeground(WARNING_COLOR);
                 } else {
                     c.setForeground(TEXT_COLOR);
                 }
 
+                // Cells significantly slower than the baseline run
+                RegressionGate.Verdict verdict = model.getVerdict(row, column);
+                if (verdict != null && verdict.outcome == RegressionGate.Outcome.REGRESSED) {
+                    c.setForeground(REGRESSION_COLOR);
+                    if (!isSelected) c.setBackground(REGRESSION_BACKGROUND);
+                }
+
+                // Show the full trial statistics, the raw operation counts or the allocation on hover
+                TrialStats stats = status == ResultMatrix.Status.MEASURED ? results.stats(row, column) : null;
+                ProjectedTime projection = status == ResultMatrix.Status.PROJECTED ? results.projection(row, column) : null;
+                OpCounts counts = model.isOpCountColumn(column) ? model.getOpCounts(row, column) : null;
+                TrialStats timed = model.isAllocationColumn(column) ? results.stats(row, model.resultColumnOf(column)) : null;
+                if (counts != null) {
+                    setToolTipText(String.format(
+                            "<html>Comparisons: %,d<br>Swaps: %,d<br>Reads: %,d<br>Writes: %,d<br>"
+                            + "From one instrumented sort of %,d elements</html>",
+                            counts.comparisons, counts.swaps, counts.reads, counts.writes, counts.n));
+                } else if (timed != null && timed.getResources() != null) {
+                    setToolTipText("<html>" + resourcesText(timed.getResources()).substring(4) + "</html>");
+                } else if (stats != null) {
+                    setToolTipText(String.format(
+                            "<html>Mean: %.4f ms<br>Median: %.4f ms<br>Std dev: %.4f ms<br>"
+                            + "95%% CI: [%.4f, %.4f] ms<br>Trials: %d after %d warmup<br>"
+                            + "Run mode: %s%s%s%s</html>",
+                            stats.getMean(), stats.getMedian(), stats.getStddev(),
+                            stats.getCiLow(), stats.getCiHigh(),
+                            stats.getSampleCount(), stats.getWarmupIterations(),
+                            model.getRunInfo(row, column) != null ? model.getRunInfo(row, column) : "JMH",
+                            model.getRunDetails(row, column) != null ? "<br>" + model.getRunDetails(row, column) : "",
+                            stats.getResources() != null ? resourcesText(stats.getResources()) : "",
+                            verdict != null ? String.format("<br>Vs baseline: %s, %+.1f%% (p = %.2g)",
+                                    verdict.outcome, 100 * verdict.shift,
+                                    verdict.shift >= 0 ? verdict.pSlower : verdict.pFaster) : ""));
+                } else if (projection != null) {
+                    setToolTipText(String.format(
+                            "<html>Not run: predicted to exceed the %d s cell budget<br>"
+                            + "Extrapolated from smaller sizes as t ~ n^%.2f</html>",
+                            SortingTableModel.CELL_BUDGET_MS / 1000, projection.getExponent()));
+                } else {
+                    setToolTipText(null);
+                }
+
                 return c;
             }
         });
     }
     
+    // Tooltip lines (each starting with <br>) for the allocation and GC of a cell's measured trials
+    private static String resourcesText(RunResources resources) {
+        String allocated = Double.isNaN(resources.getAllocatedBytesPerSort()) ? "not supported by this JVM"
+                : String.format("%,.0f bytes per sort (%.2f per element)",
+                        resources.getAllocatedBytesPerSort(), resources.getBytesPerElement());
+        return String.format("<br>Allocated: %s<br>GC: %d collection(s), %d ms pause"
+                        + "<br>Trials hit by GC: %d discarded, %d kept",
+                allocated, resources.getGcCount(), resources.getGcPauseMs(),
+                resources.getDiscardedTrials(), resources.getFlaggedTrials());
+    }
+
     // Adjusts column widths for the benchmark table
     private void adjustColumnWidths(JTable table) {
         // Array size column is narrower
         table.getColumnModel().getColumn(0).setPreferredWidth(80);
         
-        // Algorithm columns are wider
+        // Algorithm columns are wider, ops columns wider still for their four figures
         for (int i = 1; i < table.getColumnCount(); i++) {
-            table.getColumnModel().getColumn(i).setPreferredWidth(150);
+            table.getColumnModel().getColumn(i).setPreferredWidth(model.isOpCountColumn(i) ? 260 : 150);
         }
     }
 
     // Creates the informational panel displayed above the benchmark table
-    private JPanel createTableInfoPanel() {
+    private JPanel createTableInfoPanel(JTable table) {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(BACKGROUND_COLOR);
         panel.setBorder(BorderFactory.createEmptyBorder(5, 0, 10, 0));
 
-        JLabel infoLabel = new JLabel("Benchmarks for large arrays will run automatically in the background");
+        JLabel infoLabel = new JLabel("Benchmarks run in the background and fill in as results arrive");
         infoLabel.setFont(new Font("Segoe UI", Font.ITALIC, 12));
         infoLabel.setForeground(SUBTITLE_COLOR);
+        infoLabel.setToolTipText("Inputs are generated from seed " + model.getSeed() + " (-Dsorting.seed)");
+
+        // Startup metric, filled in after the first frame is painted
+        firstFrameLabel = new JLabel();
+        firstFrameLabel.setFont(new Font("Segoe UI", Font.ITALIC, 12));
+        firstFrameLabel.setForeground(SUBTITLE_COLOR);
+        firstFrameLabel.setBorder(BorderFactory.createEmptyBorder(0, 15, 0, 0));
+
+        JPanel labels = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        labels.setBackground(BACKGROUND_COLOR);
+        labels.add(infoLabel);
+        labels.add(firstFrameLabel);
+        panel.add(labels, BorderLayout.WEST);
+
+        // Scheduler options: degree of parallelism and isolated (one cell at a time) mode
+        BenchmarkScheduler current = model.getScheduler();
+        JLabel threadsLabel = new JLabel("Threads:");
+        threadsLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        JSpinner threadsSpinner = new JSpinner(new SpinnerNumberModel(current.getParallelism(), 1,
+                Math.max(current.getParallelism(), Runtime.getRuntime().availableProcessors()), 1));
+        JCheckBox isolatedBox = new JCheckBox("Isolated", current.getMode() == BenchmarkScheduler.Mode.ISOLATED);
+        isolatedBox.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        isolatedBox.setBackground(BACKGROUND_COLOR);
+        isolatedBox.setToolTipText("Run one cell at a time on a dedicated thread (pinned with -Dsorting.isolatedCpu=N)");
+
+        JButton rerunButton = new JButton("Re-run");
+        rerunButton.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        rerunButton.addActionListener(e -> {
+            BenchmarkScheduler.Mode mode = isolatedBox.isSelected()
+                    ? BenchmarkScheduler.Mode.ISOLATED : BenchmarkScheduler.Mode.SHARED;
+            int threads = (Integer) threadsSpinner.getValue();
+            model.setScheduler(new BenchmarkScheduler(mode, threads, model.getScheduler().getIsolatedCpu()));
+        });
+
+        // Stops every queued and running cell; Re-run starts them again
+        JButton stopAllButton = new JButton("Stop all");
+        stopAllButton.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        stopAllButton.setToolTipText("Cancel all benchmarks; cells running longer than "
+                + SortingTableModel.CELL_TIMEOUT_SEC + " s are stopped automatically (-Dsorting.cellTimeoutSec)");
+        stopAllButton.addActionListener(e -> model.stopAll());
+
+        // Input distribution shown in the table; the graph has its own selector on the same model
+        JComboBox<InputDistribution> distributionBox = new JComboBox<>(InputDistribution.values());
+        distributionBox.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        distributionBox.setSelectedItem(model.getDistribution());
+        distributionBox.addActionListener(e ->
+                model.setDistribution((InputDistribution) distributionBox.getSelectedItem()));
+        model.addTableModelListener(e -> {
+            if (distributionBox.getSelectedItem() != model.getDistribution()) {
+                distributionBox.setSelectedItem(model.getDistribution());
+            }
+        });
+
+        // Element type the table's cells sort; the same inputs as int[], long[], double[] or boxed
+        JComboBox<KeyType> keyTypeBox = new JComboBox<>(KeyType.values());
+        keyTypeBox.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        keyTypeBox.setSelectedItem(model.getKeyType());
+        keyTypeBox.setToolTipText("Key type; boxed keys are ordered by " + KeyType.COMPARATOR_TYPES
+                + " comparator classes in turn (-Dsorting.comparatorTypes)");
+        keyTypeBox.addActionListener(e -> model.setKeyType((KeyType) keyTypeBox.getSelectedItem()));
+        model.addTableModelListener(e -> {
+            if (keyTypeBox.getSelectedItem() != model.getKeyType()) keyTypeBox.setSelectedItem(model.getKeyType());
+        });
 
-        panel.add(infoLabel, BorderLayout.WEST);
+        // Extra columns with comparisons, swaps, reads and writes per n log n
+        JCheckBox opCountsBox = new JCheckBox("Op counts", model.isShowOpCounts());
+        opCountsBox.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        opCountsBox.setBackground(BACKGROUND_COLOR);
+        opCountsBox.setToolTipText("Show operation counts from one instrumented sort per cell, normalised by n log n; "
+                + "cells are only counted while shown");
+        opCountsBox.addActionListener(e -> {
+            model.setShowOpCounts(opCountsBox.isSelected());
+            adjustColumnWidths(table); // The structure change rebuilt the columns
+        });
+
+        // Extra columns with heap bytes allocated per element by one sort
+        JCheckBox allocationBox = new JCheckBox("Allocation", model.isShowAllocation());
+        allocationBox.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        allocationBox.setBackground(BACKGROUND_COLOR);
+        allocationBox.setToolTipText("Show bytes allocated per element by one sort, from the thread allocation counter");
+        allocationBox.addActionListener(e -> {
+            model.setShowAllocation(allocationBox.isSelected());
+            adjustColumnWidths(table);
+        });
+
+        // Tests the results against an earlier run from the history and reports regressions
+        JButton baselineButton = new JButton("Baseline...");
+        baselineButton.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        baselineButton.setEnabled(model.getHistory() != null);
+        baselineButton.setToolTipText("Compare with a stored run; significantly slower cells turn red");
+        baselineButton.addActionListener(e -> chooseBaseline());
+
+        // Button for replacing the quick timings with steady-state JMH scores
+        JButton loadJmhButton = new JButton("Load JMH Results...");
+        loadJmhButton.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        loadJmhButton.addActionListener(e -> loadJmhResults());
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.RIGHT, 6, 0));
+        controls.setBackground(BACKGROUND_COLOR);
+        controls.add(distributionBox);
+        controls.add(keyTypeBox);
+        controls.add(threadsLabel);
+        controls.add(threadsSpinner);
+        controls.add(isolatedBox);
+        controls.add(rerunButton);
+        controls.add(stopAllButton);
+        controls.add(opCountsBox);
+        controls.add(allocationBox);
+        controls.add(baselineButton);
+        controls.add(loadJmhButton);
+        panel.add(controls, BorderLayout.EAST);
         return panel;
     }
 
+    // Records and reports how long it took from launch until the window first painted
+    private void recordFirstFrame() {
+        firstFrameMs = (System.nanoTime() - LAUNCH_NANOS) / 1_000_000;
+        System.out.println("Time to first frame: " + firstFrameMs + " ms");
+        SwingUtilities.invokeLater(() -> {
+            firstFrameLabel.setText("First frame: " + firstFrameMs + " ms");
+            firstFrameLabel.setForeground(firstFrameMs > FIRST_FRAME_TARGET_MS ? WARNING_COLOR : SUBTITLE_COLOR);
+        });
+    }
+
+    // Returns the measured time to first frame in ms, or -1 before the window has painted
+    public long getFirstFrameMs() {
+        return firstFrameMs;
+    }
+
+    // Lets the user pick a JMH JSON result file and applies it to the table and graph
+    private void loadJmhResults() {
+        JFileChooser chooser = new JFileChooser(new File("."));
+        chooser.setDialogTitle("Open JMH JSON results");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        try {
+            List<JmhResultLoader.Result> results = JmhResultLoader.load(chooser.getSelectedFile().toPath());
+            int applied = model.applyJmhResults(results);
+            graphPanel.repaint();
+            JOptionPane.showMessageDialog(this, "Loaded " + applied + " JMH result(s)",
+                    "JMH Results", JOptionPane.INFORMATION_MESSAGE);
+        } catch (Exception ex) {
+            JOptionPane.showMessageDialog(this, "Could not load JMH results: " + ex.getMessage(),
+                    "JMH Results", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    // Lets the user pick an earlier run as the baseline, then shows the regression report so far
+    private void chooseBaseline() {
+        long[] runIds;
+        try {
+            runIds = model.getHistory().runIds();
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Could not read the history: " + ex.getMessage(),
+                    "Baseline", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        List<String> labels = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        labels.add("None");
+        ids.add(-1L);
+        for (int i = runIds.length - 1; i >= 0; i--) {
+            if (runIds[i] == model.getHistoryRunId()) continue; // The run being measured now
+            labels.add("Run of " + dateFormat.format(new Date(runIds[i])));
+            ids.add(runIds[i]);
+        }
+        Object choice = JOptionPane.showInputDialog(this, "Test this run's results against:", "Baseline",
+                JOptionPane.QUESTION_MESSAGE, null, labels.toArray(),
+                labels.get(Math.max(0, ids.indexOf(model.getBaselineRunId()))));
+        if (choice == null) return;
+
+        try {
+            model.setBaseline(ids.get(labels.indexOf(choice)));
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Could not load the baseline: " + ex.getMessage(),
+                    "Baseline", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        graphPanel.repaint();
+        String report = model.getRegressionReport();
+        if (report == null) return;
+
+        JTextArea reportArea = new JTextArea(report, 20, 110);
+        reportArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        reportArea.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(reportArea), "Regression Report",
+                JOptionPane.PLAIN_MESSAGE);
+    }
+
     // Creates the tabbed pane containing all main application views
     private JTabbedPane createTabbedPane(JPanel tablePanel, BenchmarkGraphPanel graphPanel, 
                                         SortingAnimationPanel animationPanel) {
@@ -190,6 +497,9 @@ public class SortingVisualizerGUI extends JFrame {
         graphScrollPane.setPreferredSize(new Dimension(800, 500));
         tabbedPane.addTab("Benchmark Graph", null, graphScrollPane);
 
+        // Log-log view of every algorithm across all sizes, with complexity fits
+        tabbedPane.addTab("Scaling", null, new JScrollPane(new ScalingGraphPanel(model)));
+
         // Add animation view tab
         tabbedPane.addTab("Sorting Animation", null, animationPanel);
 
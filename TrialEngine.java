@@ -0,0 +1,160 @@
+// Import modules
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+// Runs a sorter until its timings reach a steady state, then collects measured trials
+class TrialEngine {
+    // Samples shorter than this are dominated by timer granularity, so sorts are batched
+    private static final long MIN_SAMPLE_NANOS = 1_000_000L;
+    // Upper bound on elements held by the pre-cloned inputs of one batch
+    private static final int MAX_BATCH_ELEMENTS = 4_000_000;
+
+    private final int windowSize;             // Samples per window in the change-point test
+    private final int maxWarmupIterations;
+    private final long warmupBudgetNanos;
+    private final int measuredTrials;
+    private final int minMeasuredTrials;
+    private final long measureBudgetNanos;
+    private final double maxRelativeShift;    // Largest window-to-window shift still called "settled"
+
+    public TrialEngine() {
+        this(5, 60, 500_000_000L, 10, 3, 1_000_000_000L, 0.05);
+    }
+
+    public TrialEngine(int windowSize, int maxWarmupIterations, long warmupBudgetNanos,
+                       int measuredTrials, int minMeasuredTrials, long measureBudgetNanos,
+                       double maxRelativeShift) {
+        this.windowSize = windowSize;
+        this.maxWarmupIterations = maxWarmupIterations;
+        this.warmupBudgetNanos = warmupBudgetNanos;
+        this.measuredTrials = measuredTrials;
+        this.minMeasuredTrials = minMeasuredTrials;
+        this.measureBudgetNanos = measureBudgetNanos;
+        this.maxRelativeShift = maxRelativeShift;
+    }
+
+    // Rough wall time of run() for a sorter taking sortMs per sort. Warmup stops at its budget,
+    // or after one sort if that alone is longer; measurement takes at least minMeasuredTrials
+    public double estimateCellMs(double sortMs) {
+        double warmupMs = Math.max(sortMs, warmupBudgetNanos / 1e6);
+        double measureMs = Math.max(minMeasuredTrials * sortMs,
+                Math.min(measuredTrials * sortMs, measureBudgetNanos / 1e6 + sortMs));
+        return warmupMs + measureMs;
+    }
+
+    // Warms up until settled (or out of budget), then measures; input is never modified
+    public TrialStats run(int[] input, SortingTableModel.Sorter sorter) {
+        return run(input, input.length, int[]::clone, sorter::sort);
+    }
+
+    // As above for any array type: `copy` clones the input, `sorter` sorts a clone in place
+    public <A> TrialStats run(A input, int length, UnaryOperator<A> copy, Consumer<A> sorter) {
+        int batch = 1;
+        List<Double> warmup = new ArrayList<>();
+        long warmupStart = System.nanoTime();
+
+        // Warmup phase: keep going until the last two windows agree
+        while (warmup.size() < maxWarmupIterations) {
+            long nanos = timeBatch(input, copy, sorter, batch).nanos;
+
+            // Grow the batch while a single sample is below timer resolution
+            if (nanos < MIN_SAMPLE_NANOS && (long) batch * 2 * length <= MAX_BATCH_ELEMENTS) {
+                batch *= 2;
+                warmup.clear(); // Samples at the old batch size are not comparable
+                continue;
+            }
+            warmup.add(nanos / (double) batch / 1_000_000.0);
+
+            if (isSteady(warmup)) break;
+            if (System.nanoTime() - warmupStart > warmupBudgetNanos) break;
+        }
+
+        // Measurement phase: at least minMeasuredTrials, at most measuredTrials or the budget.
+        // Trials a collection landed in are retried, up to measuredTrials extra attempts.
+        List<Batch> clean = new ArrayList<>();
+        List<Batch> collected = new ArrayList<>();
+        long measureStart = System.nanoTime();
+        while (clean.size() < measuredTrials && collected.size() < measuredTrials) {
+            Batch b = timeBatch(input, copy, sorter, batch);
+            (b.gcCount > 0 ? collected : clean).add(b);
+            if (clean.size() + collected.size() >= minMeasuredTrials
+                    && System.nanoTime() - measureStart > measureBudgetNanos) break;
+        }
+
+        // Drop the GC-hit trials if enough clean ones remain; otherwise keep them, flagged
+        List<Batch> kept = new ArrayList<>(clean);
+        if (clean.size() < minMeasuredTrials) kept.addAll(collected);
+        int flagged = kept.size() - clean.size();
+
+        double[] measured = new double[kept.size()];
+        long allocated = 0, gcCount = 0, gcMillis = 0;
+        for (int i = 0; i < measured.length; i++) {
+            measured[i] = kept.get(i).nanos / (double) batch / 1_000_000.0;
+            allocated += kept.get(i).allocatedBytes;
+        }
+        for (Batch b : clean) { gcCount += b.gcCount; gcMillis += b.gcMillis; }
+        for (Batch b : collected) { gcCount += b.gcCount; gcMillis += b.gcMillis; }
+        double perSort = AllocationMeter.isAllocationSupported()
+                ? allocated / (double) measured.length / batch : Double.NaN;
+
+        RunResources resources = new RunResources(perSort, length, gcCount, gcMillis,
+                collected.size() - flagged, flagged);
+        return TrialStats.of(measured, warmup.size()).withResources(resources);
+    }
+
+    // One timed batch with what was allocated and collected while it ran
+    private static final class Batch {
+        long nanos;
+        long allocatedBytes;
+        long gcCount;
+        long gcMillis;
+    }
+
+    // Times sorting `batch` fresh copies of the input; copies are made before the clock starts,
+    // and the counters are read outside the timed region so they never add to it
+    private static <A> Batch timeBatch(A input, UnaryOperator<A> copy, Consumer<A> sorter, int batch) {
+        SortAlgorithms.checkCancelled(); // Also stops sorters that have no checks of their own
+        List<A> copies = new ArrayList<>(batch);
+        for (int i = 0; i < batch; i++) copies.add(copy.apply(input));
+
+        Batch result = new Batch();
+        long gcs = AllocationMeter.gcCount(), gcMillis = AllocationMeter.gcTimeMs();
+        long allocated = AllocationMeter.threadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < batch; i++) sorter.accept(copies.get(i));
+        result.nanos = System.nanoTime() - start;
+        result.allocatedBytes = AllocationMeter.threadAllocatedBytes() - allocated;
+        result.gcCount = AllocationMeter.gcCount() - gcs;
+        result.gcMillis = AllocationMeter.gcTimeMs() - gcMillis;
+        return result;
+    }
+
+    // Change-point test on the last two windows: the means must be within the relative
+    // shift bound and Welch's t-test must find no significant difference between them
+    boolean isSteady(List<Double> times) {
+        if (times.size() < 2 * windowSize) return false;
+
+        int end = times.size();
+        double[] previous = window(times, end - 2 * windowSize, end - windowSize);
+        double[] latest = window(times, end - windowSize, end);
+
+        double meanPrev = TrialStats.mean(previous), meanLast = TrialStats.mean(latest);
+        double shift = Math.abs(meanLast - meanPrev) / Math.max(meanPrev, Double.MIN_VALUE);
+        if (shift > maxRelativeShift) return false;
+
+        double varPrev = TrialStats.variance(previous, meanPrev) / windowSize;
+        double varLast = TrialStats.variance(latest, meanLast) / windowSize;
+        double se = Math.sqrt(varPrev + varLast);
+        if (se == 0) return true; // Identical windows
+        double t = Math.abs(meanLast - meanPrev) / se;
+        return t < TrialStats.tCritical(2 * windowSize - 2);
+    }
+
+    private static double[] window(List<Double> times, int from, int to) {
+        double[] values = new double[to - from];
+        for (int i = from; i < to; i++) values[i - from] = times.get(i);
+        return values;
+    }
+}
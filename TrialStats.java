@@ -0,0 +1,89 @@
+// Import modules
+import java.util.Arrays;
+
+// Summary statistics for the measured trials of one (size, algorithm) cell
+final class TrialStats {
+    // Two-sided 95% Student t critical values for 1..30 degrees of freedom
+    private static final double[] T_95 = {
+        12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+        2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+        2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    private final double[] samples;   // Measured times in ms, in run order
+    private final double mean;
+    private final double median;
+    private final double stddev;
+    private final double ciLow;       // Lower bound of the 95% confidence interval for the mean
+    private final double ciHigh;      // Upper bound of the 95% confidence interval for the mean
+    private final int warmupIterations;
+    private final RunResources resources; // Allocation and GC of the measured trials, or null
+
+    private TrialStats(double[] samples, double mean, double median, double stddev,
+                       double ciLow, double ciHigh, int warmupIterations, RunResources resources) {
+        this.samples = samples;
+        this.mean = mean;
+        this.median = median;
+        this.stddev = stddev;
+        this.ciLow = ciLow;
+        this.ciHigh = ciHigh;
+        this.warmupIterations = warmupIterations;
+        this.resources = resources;
+    }
+
+    // Builds statistics from raw measured samples (in ms)
+    static TrialStats of(double[] samples, int warmupIterations) {
+        if (samples.length == 0) throw new IllegalArgumentException("No samples");
+        int n = samples.length;
+        double mean = mean(samples);
+        double stddev = n > 1 ? Math.sqrt(variance(samples, mean)) : 0.0;
+
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        double median = n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2.0;
+
+        double halfWidth = n > 1 ? tCritical(n - 1) * stddev / Math.sqrt(n) : 0.0;
+        return new TrialStats(samples.clone(), mean, median, stddev,
+                mean - halfWidth, mean + halfWidth, warmupIterations, null);
+    }
+
+    // The same statistics with the allocation and GC accounting of the run attached
+    TrialStats withResources(RunResources resources) {
+        return new TrialStats(samples, mean, median, stddev, ciLow, ciHigh, warmupIterations, resources);
+    }
+
+    // Builds statistics from an externally computed mean and interval half-width (e.g. JMH)
+    static TrialStats ofSummary(double mean, double halfWidth) {
+        double hw = Double.isNaN(halfWidth) ? 0.0 : halfWidth;
+        return new TrialStats(new double[0], mean, mean, Double.NaN, mean - hw, mean + hw, 0, null);
+    }
+
+    static double mean(double[] values) {
+        double sum = 0;
+        for (double v : values) sum += v;
+        return sum / values.length;
+    }
+
+    // Unbiased sample variance
+    static double variance(double[] values, double mean) {
+        double sum = 0;
+        for (double v : values) sum += (v - mean) * (v - mean);
+        return sum / (values.length - 1);
+    }
+
+    static double tCritical(int degreesOfFreedom) {
+        if (degreesOfFreedom <= 0) return Double.NaN;
+        return degreesOfFreedom <= T_95.length ? T_95[degreesOfFreedom - 1] : 1.96;
+    }
+
+    double[] getSamples() { return samples.clone(); }
+    int getSampleCount() { return samples.length; }
+    double getMean() { return mean; }
+    double getMedian() { return median; }
+    double getStddev() { return stddev; }
+    double getCiLow() { return ciLow; }
+    double getCiHigh() { return ciHigh; }
+    double getHalfWidth() { return (ciHigh - ciLow) / 2.0; }
+    int getWarmupIterations() { return warmupIterations; }
+    RunResources getResources() { return resources; }
+}
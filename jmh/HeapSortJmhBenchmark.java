@@ -0,0 +1,85 @@
+package jmh;
+
+// Import modules
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Heap sort variants at the sizes where cache behaviour dominates; kept apart from
+// SortingJmhBenchmark so the O(n^2) sorts are never run at 10^7 elements.
+//   java -cp <classpath> org.openjdk.jmh.Main jmh.HeapSortJmhBenchmark -rf json -rff jmh-heap.json
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class HeapSortJmhBenchmark {
+    @Param({"100000", "10000000"})
+    public int size;
+
+    // Input shape, override with -p distribution=SORTED,ZIPF,...
+    @Param({"RANDOM"})
+    public String distribution;
+
+    private static final long SEED = 42L;
+
+    // Sorters under test, bound once (see JmhSupport)
+    private static final MethodHandle HEAP_SORT = JmhSupport.sorter("heapSort", int[].class);
+    private static final MethodHandle ITERATIVE_HEAP_SORT = JmhSupport.sorter("iterativeHeapSort", int[].class);
+    private static final MethodHandle FLOYD_HEAP_SORT = JmhSupport.sorter("floydHeapSort", int[].class);
+    private static final MethodHandle QUATERNARY_HEAP_SORT = JmhSupport.sorter("quaternaryHeapSort", int[].class);
+
+    private int[] baseArray;
+    private int[] workArray;
+
+    @Setup(Level.Trial)
+    public void generateInput() {
+        baseArray = JmhSupport.generate(distribution, size, SEED);
+        workArray = new int[size];
+    }
+
+    private int[] freshInput() {
+        System.arraycopy(baseArray, 0, workArray, 0, size);
+        return workArray;
+    }
+
+    @Benchmark
+    public int[] heapSort() throws Throwable {
+        int[] a = freshInput();
+        HEAP_SORT.invokeExact(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] iterativeHeapSort() throws Throwable {
+        int[] a = freshInput();
+        ITERATIVE_HEAP_SORT.invokeExact(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] floydHeapSort() throws Throwable {
+        int[] a = freshInput();
+        FLOYD_HEAP_SORT.invokeExact(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] quaternaryHeapSort() throws Throwable {
+        int[] a = freshInput();
+        QUATERNARY_HEAP_SORT.invokeExact(a);
+        return a;
+    }
+}
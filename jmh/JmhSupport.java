@@ -0,0 +1,39 @@
+package jmh;
+
+// Import modules
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+// Bridges the JMH benchmarks to the sorters in the unnamed package. JMH rejects benchmark
+// classes in the default package and a named package cannot import unnamed-package types,
+// so sorters are bound once into static final MethodHandles, which the JIT inlines like
+// direct calls.
+final class JmhSupport {
+    private JmhSupport() {}
+
+    // Handle for a static SortAlgorithms method with the given parameter types
+    static MethodHandle sorter(String name, Class<?>... parameterTypes) {
+        try {
+            Method method = Class.forName("SortAlgorithms").getDeclaredMethod(name, parameterTypes);
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot bind SortAlgorithms." + name, e);
+        }
+    }
+
+    // Seeded input from InputDistribution, named as in its enum constants (e.g. "RANDOM")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int[] generate(String distribution, int size, long seed) {
+        try {
+            Class type = Class.forName("InputDistribution");
+            Object constant = Enum.valueOf(type, distribution);
+            Method generate = type.getDeclaredMethod("generate", int.class, int.class, int.class, long.class);
+            generate.setAccessible(true);
+            return (int[]) generate.invoke(constant, size, Integer.MIN_VALUE, Integer.MAX_VALUE, seed);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot generate " + distribution + " input", e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package jmh;
+
+// Import modules
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Steady-state JMH benchmarks for the built-in sorters in SortAlgorithms.
+//
+// Compile together with the main sources, with jmh-core on the classpath and
+// jmh-generator-annprocess on the annotation processor path, then run:
+//   java -cp <classpath> org.openjdk.jmh.Main jmh.SortingJmhBenchmark -rf json -rff jmh-results.json
+// and open jmh-results.json with "Load JMH Results..." in the benchmark table.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class SortingJmhBenchmark {
+    // SizeLadder.DEFAULT_SPEC up to 100,000, override with -p size=...
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    // Input shape, override with -p distribution=SORTED,ZIPF,...
+    @Param({"RANDOM"})
+    public String distribution;
+
+    // Fixed seed so every fork and every algorithm sorts the same input
+    private static final long SEED = 42L;
+
+    // Sorters under test, bound once (see JmhSupport)
+    private static final MethodHandle BUBBLE_SORT = JmhSupport.sorter("bubbleSort", int[].class);
+    private static final MethodHandle SELECTION_SORT = JmhSupport.sorter("selectionSort", int[].class);
+    private static final MethodHandle INSERTION_SORT = JmhSupport.sorter("insertionSort", int[].class);
+    private static final MethodHandle MERGE_SORT = JmhSupport.sorter("mergeSort", int[].class);
+    private static final MethodHandle HEAP_SORT = JmhSupport.sorter("heapSort", int[].class);
+    private static final MethodHandle PARALLEL_MERGE_SORT = JmhSupport.sorter("parallelMergeSort", int[].class);
+    private static final MethodHandle INTRO_SORT = JmhSupport.sorter("introSort", int[].class);
+    private static final MethodHandle RADIX_SORT = JmhSupport.sorter("radixSort", int[].class);
+    private static final MethodHandle BOTTOM_UP_MERGE_SORT = JmhSupport.sorter("bottomUpMergeSort", int[].class, int[].class);
+
+    private int[] baseArray;
+    private int[] workArray;
+    private int[] scratchArray;
+
+    @Setup(Level.Trial)
+    public void generateInput() {
+        baseArray = JmhSupport.generate(distribution, size, SEED);
+        workArray = new int[size];
+        scratchArray = new int[size];
+    }
+
+    // Restores the unsorted input; the O(n) copy is negligible next to the sort itself
+    // and avoids the timer overhead of a per-invocation @Setup
+    private int[] freshInput() {
+        System.arraycopy(baseArray, 0, workArray, 0, size);
+        return workArray;
+    }
+
+    @Benchmark
+    public int[] bubbleSort() throws Throwable {
+        int[] a = freshInput();
+        BUBBLE_SORT.invokeExact(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] selectionSort() throws Throwable {
+        int[] a = freshInput();
+        SELECTION_SORT.invokeExact(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] insertionSort() throws Throwable {
+        int[] a = freshInput();
+        INSERTION_SORT.invokeExact(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] mergeSort() throws Throwable {
+        int[] a = freshInput();
+        MERGE_SORT.invokeExact(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] heapSort() throws Throwable {
+        int[] a = freshInput();
+        HEAP_SORT.invokeExact(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] parallelMergeSort() throws Throwable {
+        int[] a = freshInput();
+        PARALLEL_MERGE_SORT.invokeExact(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] introSort() throws Throwable {
+        int[] a = freshInput();
+        INTRO_SORT.invokeExact(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] radixSort() throws Throwable {
+        int[] a = freshInput();
+        RADIX_SORT.invokeExact(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] bottomUpMergeSort() throws Throwable {
+        int[] a = freshInput();
+        BOTTOM_UP_MERGE_SORT.invokeExact(a, scratchArray);
+        return a;
+    }
+}